@@ -11,4 +11,33 @@ repositories {
 
 dependencies {
     implementation("org.jfree:jfreechart:1.5.5")
-}
\ No newline at end of file
+
+    testImplementation(platform("org.junit:junit-bom:5.10.2"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
+
+tasks.register<JavaExec>("jvmMatrix") {
+    group = "benchmark"
+    description = "Benchmarks every algorithm in child JVMs across a matrix of JVM flags"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("de.zonlykroks.JvmFlagMatrixRunner")
+}
+
+tasks.register<JavaExec>("batch") {
+    group = "benchmark"
+    description = "Runs the accuracy and performance matrix headlessly and writes tab separated results"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("de.zonlykroks.BatchRunner")
+}
+
+tasks.register<JavaExec>("branchBenchmark") {
+    group = "benchmark"
+    description = "Compares every algorithm on sorted and shuffled inputs to expose branch misprediction costs"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("de.zonlykroks.BranchPredictionBenchmark")
+}
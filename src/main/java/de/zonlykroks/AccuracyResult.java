@@ -0,0 +1,10 @@
+package de.zonlykroks;
+
+/**
+ * Result of a uniform accuracy sweep. Points where the error is NaN or infinite are counted in
+ * {@code invalidPoints} and excluded from the error statistics.
+ */
+public record AccuracyResult(String name, int points, int invalidPoints, double averageError, double maxError,
+                             double maxErrorInput, double maxRelativeError, double maxRelativeErrorInput,
+                             double maxUlpError) {
+}
@@ -0,0 +1,25 @@
+package de.zonlykroks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A tunable integer parameter of a {@link ParameterizedApproximationAlgorithm} and the values to sweep it over.
+ * Non-numeric choices are encoded as integers, e.g. {@code precision} 32 or 64.
+ */
+public record AlgorithmParameter(String name, List<Integer> values) {
+    public AlgorithmParameter {
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("Parameter " + name + " needs at least one value");
+        }
+        values = List.copyOf(values);
+    }
+
+    public static AlgorithmParameter of(String name, int... values) {
+        List<Integer> boxed = new ArrayList<>(values.length);
+        for (int value : values) {
+            boxed.add(value);
+        }
+        return new AlgorithmParameter(name, boxed);
+    }
+}
@@ -0,0 +1,119 @@
+package de.zonlykroks;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Measures heap allocation of the current thread and JVM-wide GC activity between
+ * {@link #start()} and {@link #stop()}.
+ */
+public final class AllocationMeter {
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = initThreadMXBean();
+    private static final List<GarbageCollectorMXBean> GC_MX_BEANS = ManagementFactory.getGarbageCollectorMXBeans();
+    private static final long CALIBRATION_BYTES = calibrate();
+
+    private final long startAllocatedBytes;
+    private final long startGcCount;
+    private final long startGcTimeMillis;
+
+    private AllocationMeter() {
+        this.startGcCount = totalGcCount();
+        this.startGcTimeMillis = totalGcTimeMillis();
+        this.startAllocatedBytes = currentThreadAllocatedBytes();
+    }
+
+    public static AllocationMeter start() {
+        return new AllocationMeter();
+    }
+
+    public static boolean isAllocationTrackingSupported() {
+        return THREAD_MX_BEAN != null;
+    }
+
+    public Result stop() {
+        long allocatedBytes = currentThreadAllocatedBytes() - startAllocatedBytes;
+        long gcCount = totalGcCount() - startGcCount;
+        long gcTimeMillis = totalGcTimeMillis() - startGcTimeMillis;
+
+        if (allocatedBytes >= 0) {
+            allocatedBytes = Math.max(0, allocatedBytes - CALIBRATION_BYTES);
+        }
+
+        return new Result(allocatedBytes, gcCount, gcTimeMillis);
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        if (THREAD_MX_BEAN == null) {
+            return -1;
+        }
+        return THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().threadId());
+    }
+
+    private static long totalGcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean bean : GC_MX_BEANS) {
+            total += Math.max(0, bean.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long totalGcTimeMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean bean : GC_MX_BEANS) {
+            total += Math.max(0, bean.getCollectionTime());
+        }
+        return total;
+    }
+
+    private static com.sun.management.ThreadMXBean initThreadMXBean() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean)) {
+            return null;
+        }
+        if (!bean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        if (!bean.isThreadAllocatedMemoryEnabled()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return bean;
+    }
+
+    // The MXBean calls themselves may allocate a few bytes; subtract that fixed cost from every measurement
+    private static long calibrate() {
+        if (THREAD_MX_BEAN == null) {
+            return 0;
+        }
+
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < 16; i++) {
+            long before = currentThreadAllocatedBytes();
+            totalGcCount();
+            totalGcTimeMillis();
+            long after = currentThreadAllocatedBytes();
+            min = Math.min(min, after - before);
+        }
+        return Math.max(0, min);
+    }
+
+    /**
+     * Allocation and GC activity of one measured region. {@code allocatedBytes} is negative when the JVM
+     * does not support per-thread allocation accounting.
+     */
+    public record Result(long allocatedBytes, long gcCount, long gcTimeMillis) {
+        // Total bytes at or above this are more than measurement noise and mean the loop allocated, even if only on
+        // a small fraction of its calls; a per-operation threshold would let occasional allocators through
+        public static final long STEADY_STATE_ALLOCATION_NOISE_BYTES = 4096;
+
+        public double bytesPerOperation(long operations) {
+            if (allocatedBytes < 0 || operations <= 0) {
+                return Double.NaN;
+            }
+            return (double) allocatedBytes / operations;
+        }
+
+        public boolean allocatesInSteadyState() {
+            return allocatedBytes >= STEADY_STATE_ALLOCATION_NOISE_BYTES;
+        }
+    }
+}
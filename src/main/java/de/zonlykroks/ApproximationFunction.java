@@ -29,6 +29,10 @@ public abstract class ApproximationFunction {
 
     public abstract List<ApproximationAlgorithm> getApproximationAlgorithms();
 
+    public List<ParameterizedApproximationAlgorithm> getParameterizedAlgorithms() {
+        return List.of();
+    }
+
     protected abstract void initializeReferenceImplementations();
 
     protected void initializeApproximationAlgorithms() {}
@@ -1,15 +1,28 @@
 package de.zonlykroks;
 
+import de.zonlykroks.export.SweepExportWriter;
+import de.zonlykroks.specialize.KernelSpecializer;
+import de.zonlykroks.specialize.SpecializedKernel;
+
+import java.io.IOException;
+import java.nio.file.Path;
 import java.text.DecimalFormat;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.DoubleUnaryOperator;
 
 public class ApproximationTester {
+    // Points per chunk of the accuracy sweep; reference and approximation values are buffered one chunk at a time
+    private static final int SWEEP_CHUNK = 4096;
+
     private final String functionName;
     private DoubleUnaryOperator referenceFunction;
     private String referenceName;
-    private final Map<String, DoubleUnaryOperator> approximations = new HashMap<>();
+    private Path exportDirectory;
+    private boolean specializeKernels = true;
+    private final Map<String, DoubleUnaryOperator> approximations = new LinkedHashMap<>();
 
     private static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("#.########");
 
@@ -26,17 +39,39 @@ public class ApproximationTester {
         approximations.put(name, function);
     }
 
-    public void testRange(double start, double end, int points, boolean reportWorst) {
+    /**
+     * When set, {@link #testRange} also streams every point's input, reference value and per-approximation
+     * output and error into memory-mapped column files in this directory. {@code null} disables the export.
+     */
+    public void setExportDirectory(Path exportDirectory) {
+        this.exportDirectory = exportDirectory;
+    }
+
+    /**
+     * Whether the benchmark and sweep loops are generated per function by {@link KernelSpecializer} (the default)
+     * or shared between all functions.
+     */
+    public void setSpecializeKernels(boolean specializeKernels) {
+        this.specializeKernels = specializeKernels;
+    }
+
+    /**
+     * Returns {@code true} once every approximation has been tested and, if an export directory is set, the export
+     * has been completely written and closed. Throws {@link IllegalArgumentException} unless {@code points} is
+     * positive.
+     */
+    public boolean testRange(double start, double end, int points, boolean reportWorst) {
         if (referenceFunction == null) {
             System.out.println("Error: Reference function not set");
-            return;
+            return false;
         }
 
         if (approximations.isEmpty()) {
             System.out.println("Error: No approximation methods registered");
-            return;
+            return false;
         }
 
+        requirePositivePoints(points);
         double step = (end - start) / points;
 
         System.out.println("========== ACCURACY TEST RESULTS ==========");
@@ -46,58 +81,209 @@ public class ApproximationTester {
         System.out.println("Test points: " + points);
         System.out.println("===========================================");
 
-        for (Map.Entry<String, DoubleUnaryOperator> entry : approximations.entrySet()) {
-            String approxName = entry.getKey();
-            DoubleUnaryOperator approxFunction = entry.getValue();
+        SweepExportWriter export = null;
+        if (exportDirectory != null) {
+            try {
+                export = SweepExportWriter.create(exportDirectory, functionName, referenceName, start, end, points,
+                        new ArrayList<>(approximations.keySet()));
+            } catch (IOException e) {
+                System.out.println("Error: Could not create sweep export in " + exportDirectory + ": " + e.getMessage());
+                return false;
+            }
+        }
 
-            System.out.println("\nTesting: " + approxName);
-            System.out.println("-------------------------------------");
+        try {
+            SpecializedKernel referenceKernel = kernel(referenceFunction);
+            int approxIndex = 0;
+            for (Map.Entry<String, DoubleUnaryOperator> entry : approximations.entrySet()) {
+                String approxName = entry.getKey();
+                DoubleUnaryOperator approxFunction = entry.getValue();
 
-            double totalError = 0.0;
-            double maxError = 0.0;
-            double maxErrorInput = 0.0;
-            double maxRelativeError = 0.0;
-            double maxRelativeErrorInput = 0.0;
+                System.out.println("\nTesting: " + approxName);
+                System.out.println("-------------------------------------");
 
-            for (int i = 0; i < points; i++) {
-                double x = start + i * step;
-                double referenceValue = referenceFunction.applyAsDouble(x);
-                double approximationValue = approxFunction.applyAsDouble(x);
+                AccuracyResult result = evaluateAccuracy(approxName, referenceKernel, kernel(approxFunction),
+                        start, step, points, export, approxIndex);
+                approxIndex++;
 
-                double absError = Math.abs(referenceValue - approximationValue);
-                totalError += absError;
+                if (result.invalidPoints() > 0) {
+                    System.out.println("Points with NaN or infinite error: " + result.invalidPoints());
+                }
+                System.out.println("Average absolute error: " + DECIMAL_FORMAT.format(result.averageError()));
+                System.out.println("Maximum absolute error: " + DECIMAL_FORMAT.format(result.maxError()));
+                System.out.println("Maximum relative error: " + DECIMAL_FORMAT.format(result.maxRelativeError() * 100) + "%");
+                System.out.println("Maximum ULP error: " + DECIMAL_FORMAT.format(result.maxUlpError()));
+
+                if (reportWorst) {
+                    System.out.println("\nWorst cases:");
+                    double maxErrorInput = result.maxErrorInput();
+                    System.out.println("Max abs error at x = " + DECIMAL_FORMAT.format(maxErrorInput));
+                    System.out.println("  Reference: " + DECIMAL_FORMAT.format(referenceFunction.applyAsDouble(maxErrorInput)));
+                    System.out.println("  Approximation: " + DECIMAL_FORMAT.format(approxFunction.applyAsDouble(maxErrorInput)));
 
-                if (absError > maxError) {
-                    maxError = absError;
-                    maxErrorInput = x;
+                    double maxRelativeErrorInput = result.maxRelativeErrorInput();
+                    System.out.println("Max rel error at x = " + DECIMAL_FORMAT.format(maxRelativeErrorInput));
+                    System.out.println("  Reference: " + DECIMAL_FORMAT.format(referenceFunction.applyAsDouble(maxRelativeErrorInput)));
+                    System.out.println("  Approximation: " + DECIMAL_FORMAT.format(approxFunction.applyAsDouble(maxRelativeErrorInput)));
                 }
+            }
+        } finally {
+            if (export != null) {
+                export.close();
+            }
+        }
 
-                if (Math.abs(referenceValue) > 1e-10) {
-                    double relativeError = absError / Math.abs(referenceValue);
-                    if (relativeError > maxRelativeError) {
-                        maxRelativeError = relativeError;
-                        maxRelativeErrorInput = x;
-                    }
+        if (export != null) {
+            System.out.println("\nPer-point results exported to: " + exportDirectory.toAbsolutePath());
+        }
+        return true;
+    }
+
+    /**
+     * Monte Carlo variant of {@link #testRange}: samples random inputs in parallel until the mean and percentile
+     * error are known to the requested precision. See {@link SampledAccuracyEstimator}.
+     */
+    public void testSampled(double start, double end, SampledAccuracyEstimator.Settings settings, long seed) {
+        if (referenceFunction == null) {
+            System.out.println("Error: Reference function not set");
+            return;
+        }
+
+        if (approximations.isEmpty()) {
+            System.out.println("Error: No approximation methods registered");
+            return;
+        }
+
+        String percentileLabel = "P" + DECIMAL_FORMAT.format(settings.percentile() * 100);
+        String confidenceLabel = DECIMAL_FORMAT.format(settings.confidence() * 100) + "% CI";
+
+        System.out.println("====== SAMPLED ACCURACY TEST RESULTS ======");
+        System.out.println("Function: " + functionName);
+        System.out.println("Reference: " + referenceName);
+        System.out.println("Range: [" + start + ", " + end + "]");
+        System.out.println("Target precision: " + DECIMAL_FORMAT.format(settings.relativePrecision() * 100)
+                + "% at " + confidenceLabel + " (max " + settings.maxSamples() + " samples)");
+        System.out.println("===========================================");
+
+        for (Map.Entry<String, DoubleUnaryOperator> entry : approximations.entrySet()) {
+            System.out.println("\nTesting: " + entry.getKey());
+            System.out.println("-------------------------------------");
+
+            long startTime = System.nanoTime();
+            SampledAccuracyEstimator.Estimate estimate = SampledAccuracyEstimator.estimate(entry.getKey(),
+                    referenceFunction, entry.getValue(), start, end, settings, seed);
+            long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+            System.out.println("Samples used: " + estimate.samples() + " in " + elapsedMillis + " ms"
+                    + (estimate.converged() ? "" : " (stopped at max samples before reaching target precision)"));
+            if (estimate.invalidSamples() > 0) {
+                System.out.println("Samples with NaN or infinite error: " + estimate.invalidSamples());
+            }
+            // Sampled errors are printed unrounded; the tester's usual eight decimals would hide sub-1e-8 errors
+            System.out.println("Average absolute error: " + estimate.meanError()
+                    + " (" + confidenceLabel + " " + estimate.meanErrorLower()
+                    + " .. " + estimate.meanErrorUpper() + ")");
+            System.out.println(percentileLabel + " absolute error: " + estimate.percentileError()
+                    + " (" + confidenceLabel + " " + estimate.percentileErrorLower()
+                    + " .. " + estimate.percentileErrorUpper() + ")");
+            System.out.println("Maximum absolute error seen: " + estimate.maxError()
+                    + " at x = " + estimate.maxErrorInput());
+        }
+    }
+
+    /**
+     * Silent variant of {@link #testRange} that returns one result per registered approximation, in registration
+     * order. Throws {@link IllegalArgumentException} unless {@code points} is positive.
+     */
+    public List<AccuracyResult> measureAccuracy(double start, double end, int points) {
+        if (referenceFunction == null) {
+            throw new IllegalStateException("Reference function not set");
+        }
+
+        requirePositivePoints(points);
+        double step = (end - start) / points;
+        SpecializedKernel referenceKernel = kernel(referenceFunction);
+        List<AccuracyResult> results = new ArrayList<>();
+        for (Map.Entry<String, DoubleUnaryOperator> entry : approximations.entrySet()) {
+            results.add(evaluateAccuracy(entry.getKey(), referenceKernel, kernel(entry.getValue()),
+                    start, step, points, null, 0));
+        }
+        return results;
+    }
+
+    private static void requirePositivePoints(int points) {
+        if (points <= 0) {
+            throw new IllegalArgumentException("Test points must be greater than 0: " + points);
+        }
+    }
+
+    private SpecializedKernel kernel(DoubleUnaryOperator function) {
+        return specializeKernels ? KernelSpecializer.specialize(function) : KernelSpecializer.generic(function);
+    }
+
+    private static AccuracyResult evaluateAccuracy(String name, SpecializedKernel referenceKernel,
+                                                   SpecializedKernel approxKernel, double start, double step,
+                                                   int points, SweepExportWriter export, int approxIndex) {
+        double totalError = 0.0;
+        double maxError = 0.0;
+        double maxErrorInput = 0.0;
+        double maxRelativeError = 0.0;
+        double maxRelativeErrorInput = 0.0;
+        double maxUlpError = 0.0;
+        int invalidPoints = 0;
+
+        double[] referenceValues = new double[Math.min(points, SWEEP_CHUNK)];
+        double[] approximationValues = new double[referenceValues.length];
+
+        for (int i = 0; i < points; i++) {
+            int offset = i % SWEEP_CHUNK;
+            if (offset == 0) {
+                int count = Math.min(SWEEP_CHUNK, points - i);
+                referenceKernel.evaluate(start, step, i, count, referenceValues);
+                approxKernel.evaluate(start, step, i, count, approximationValues);
+            }
+
+            double x = start + i * step;
+            double referenceValue = referenceValues[offset];
+            double approximationValue = approximationValues[offset];
+
+            double absError = Math.abs(referenceValue - approximationValue);
+
+            if (export != null) {
+                if (approxIndex == 0) {
+                    export.putReference(i, x, referenceValue);
                 }
+                export.putApproximation(approxIndex, i, approximationValue, absError);
             }
 
-            double avgError = totalError / points;
+            // NaN would silently fail every comparison below and infinity would swamp the average
+            if (!Double.isFinite(absError)) {
+                invalidPoints++;
+                continue;
+            }
+            totalError += absError;
 
-            System.out.println("Average absolute error: " + DECIMAL_FORMAT.format(avgError));
-            System.out.println("Maximum absolute error: " + DECIMAL_FORMAT.format(maxError));
-            System.out.println("Maximum relative error: " + DECIMAL_FORMAT.format(maxRelativeError * 100) + "%");
+            if (absError > maxError) {
+                maxError = absError;
+                maxErrorInput = x;
+            }
 
-            if (reportWorst) {
-                System.out.println("\nWorst cases:");
-                System.out.println("Max abs error at x = " + DECIMAL_FORMAT.format(maxErrorInput));
-                System.out.println("  Reference: " + DECIMAL_FORMAT.format(referenceFunction.applyAsDouble(maxErrorInput)));
-                System.out.println("  Approximation: " + DECIMAL_FORMAT.format(approxFunction.applyAsDouble(maxErrorInput)));
+            if (Math.abs(referenceValue) > 1e-10) {
+                double relativeError = absError / Math.abs(referenceValue);
+                if (relativeError > maxRelativeError) {
+                    maxRelativeError = relativeError;
+                    maxRelativeErrorInput = x;
+                }
 
-                System.out.println("Max rel error at x = " + DECIMAL_FORMAT.format(maxRelativeErrorInput));
-                System.out.println("  Reference: " + DECIMAL_FORMAT.format(referenceFunction.applyAsDouble(maxRelativeErrorInput)));
-                System.out.println("  Approximation: " + DECIMAL_FORMAT.format(approxFunction.applyAsDouble(maxRelativeErrorInput)));
+                double ulpError = absError / Math.ulp(referenceValue);
+                if (ulpError > maxUlpError) {
+                    maxUlpError = ulpError;
+                }
             }
         }
+
+        return new AccuracyResult(name, points, invalidPoints, totalError / (points - invalidPoints), maxError,
+                maxErrorInput, maxRelativeError, maxRelativeErrorInput, maxUlpError);
     }
 
     public void testPerformance(int iterations) {
@@ -117,41 +303,73 @@ public class ApproximationTester {
         System.out.println("Iterations: " + iterations);
         System.out.println("=============================================");
 
+        List<PerformanceResult> results = measurePerformance(iterations);
+        PerformanceResult reference = results.getFirst();
+
+        System.out.println("\nReference implementation (" + referenceName + ")");
+        System.out.println("Time: " + reference.timeMillis() + " ms");
+        printAllocation(reference);
+        System.out.println("Dummy sum: " + reference.checksum() + " (prevents optimization)");
+
+        for (PerformanceResult result : results.subList(1, results.size())) {
+            System.out.println("\nTesting: " + result.name());
+            System.out.println("-------------------------------------");
+
+            System.out.println("Time: " + result.timeMillis() + " ms");
+            System.out.println("Speedup factor: "
+                    + DECIMAL_FORMAT.format((double) reference.timeNanos() / result.timeNanos()) + "x");
+            printAllocation(result);
+            System.out.println("Dummy sum: " + result.checksum() + " (prevents optimization)");
+        }
+    }
+
+    /**
+     * Benchmarks the reference and every registered approximation on the same random inputs. The reference
+     * result comes first, followed by the approximations in registration order.
+     */
+    public List<PerformanceResult> measurePerformance(int iterations) {
+        if (referenceFunction == null) {
+            throw new IllegalStateException("Reference function not set");
+        }
+
         double[] testValues = new double[1000];
         for (int i = 0; i < testValues.length; i++) {
             testValues[i] = Math.random() * 10;
         }
 
-        long startTime = System.nanoTime();
-        double refSum = 0;
-        for (int i = 0; i < iterations; i++) {
-            double x = testValues[i % testValues.length];
-            refSum += referenceFunction.applyAsDouble(x);
+        List<PerformanceResult> results = new ArrayList<>();
+        results.add(measure(referenceName, kernel(referenceFunction), testValues, iterations));
+        for (Map.Entry<String, DoubleUnaryOperator> entry : approximations.entrySet()) {
+            results.add(measure(entry.getKey(), kernel(entry.getValue()), testValues, iterations));
         }
-        long refTime = System.nanoTime() - startTime;
+        return results;
+    }
 
-        System.out.println("\nReference implementation (" + referenceName + ")");
-        System.out.println("Time: " + (refTime / 1_000_000.0) + " ms");
-        System.out.println("Dummy sum: " + refSum + " (prevents optimization)");
+    private static PerformanceResult measure(String name, SpecializedKernel kernel, double[] testValues,
+                                             int iterations) {
+        kernel.runLoop(testValues, iterations);
 
-        for (Map.Entry<String, DoubleUnaryOperator> entry : approximations.entrySet()) {
-            String approxName = entry.getKey();
-            DoubleUnaryOperator approxFunction = entry.getValue();
+        AllocationMeter meter = AllocationMeter.start();
+        long startTime = System.nanoTime();
+        double sum = kernel.runLoop(testValues, iterations);
+        long time = System.nanoTime() - startTime;
+        AllocationMeter.Result allocation = meter.stop();
 
-            System.out.println("\nTesting: " + approxName);
-            System.out.println("-------------------------------------");
+        return new PerformanceResult(name, iterations, time, allocation, sum);
+    }
 
-            startTime = System.nanoTime();
-            double approxSum = 0;
-            for (int i = 0; i < iterations; i++) {
-                double x = testValues[i % testValues.length];
-                approxSum += approxFunction.applyAsDouble(x);
-            }
-            long approxTime = System.nanoTime() - startTime;
+    private static void printAllocation(PerformanceResult result) {
+        AllocationMeter.Result allocation = result.allocation();
+        if (AllocationMeter.isAllocationTrackingSupported()) {
+            System.out.println("Allocated: " + DECIMAL_FORMAT.format(result.bytesPerOperation())
+                    + " bytes/op (" + allocation.allocatedBytes() + " bytes total)");
+        } else {
+            System.out.println("Allocated: n/a (thread allocation accounting not supported by this JVM)");
+        }
+        System.out.println("GC: " + allocation.gcCount() + " collections, " + allocation.gcTimeMillis() + " ms");
 
-            System.out.println("Time: " + (approxTime / 1_000_000.0) + " ms");
-            System.out.println("Speedup factor: " + DECIMAL_FORMAT.format((double) refTime / approxTime) + "x");
-            System.out.println("Dummy sum: " + approxSum + " (prevents optimization)");
+        if (result.allocatesInSteadyState()) {
+            System.out.println("WARNING: allocates in steady state (after warmup)");
         }
     }
 }
@@ -0,0 +1,395 @@
+package de.zonlykroks;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Headless runner for a whole function x algorithm matrix, for build machines without a display.
+ * <p>
+ * Usage: {@code BatchRunner [--spec <file>] [--output <dir>] [--threads <n>] [--performance-cpu <cpu>]
+ * [--in-process-performance] [--timeout <seconds>]}
+ * <p>
+ * Accuracy jobs, one per job and algorithm, run in parallel on {@code --threads} threads (default: all cores).
+ * Performance jobs run afterwards, one job at a time, so they never share the machine with the accuracy sweep.
+ * Each performance job runs in a fresh {@link JvmBenchmarkWorker} child JVM, so it does not inherit the accuracy
+ * pool's heap, JIT profiles or compiled code; with {@code --performance-cpu} that child is also pinned to one CPU
+ * with {@code taskset} (Linux only). {@code --in-process-performance} runs the benchmarks in this JVM instead; such
+ * runs are not isolated and are marked as such in the output and in {@value #RUN_FILE}.
+ * <p>
+ * The spec is a properties file. Every job key is optional except {@code function}:
+ * <pre>
+ * accuracy.points=100000
+ * performance.iterations=10000000
+ * job.0.function=Sin Approximations
+ * job.0.reference=sin
+ * job.0.algorithms=CORDIC sine approximation;Taylor polynomial sine [degree=7, precision=64]
+ * job.0.variants=true
+ * job.0.start=0
+ * job.0.end=6.283185307179586
+ * </pre>
+ * Jobs are numbered from 0 without gaps. Algorithm names are separated by {@code ;}; without them every fixed
+ * algorithm is run, plus every parameterized variant when {@code variants} is true. Names are resolved when a job
+ * runs, so an unknown function, reference or algorithm fails only its own job. A performance iteration count of
+ * {@code 0} skips performance jobs. Without a spec every registered function is run with its defaults.
+ * <p>
+ * Results are written as tab separated files {@value #ACCURACY_FILE} and {@value #PERFORMANCE_FILE} with a header
+ * row, plus {@value #RUN_FILE} describing the run. The exit code is 1 if any job failed.
+ */
+public final class BatchRunner {
+    public static final String ACCURACY_FILE = "accuracy.tsv";
+    public static final String PERFORMANCE_FILE = "performance.tsv";
+    public static final String RUN_FILE = "run.properties";
+
+    private static final int DEFAULT_POINTS = 100_000;
+    private static final int DEFAULT_ITERATIONS = 10_000_000;
+    private static final long DEFAULT_TIMEOUT_SECONDS = 600;
+
+    private BatchRunner() {
+    }
+
+    /**
+     * One job of a spec. {@code reference}, {@code start} and {@code end} are {@code null} when the spec leaves them
+     * to the function's defaults; {@link #withDefaults} fills them in once the function has been resolved.
+     */
+    public record Job(String function, String reference, List<String> algorithms, boolean variants,
+                      Double start, Double end) {
+        public Job withDefaults(ApproximationFunction resolved) {
+            return new Job(function, reference != null ? reference : defaultReference(resolved), algorithms, variants,
+                    start != null ? start : resolved.getDefaultStartRange(),
+                    end != null ? end : resolved.getDefaultEndRange());
+        }
+    }
+
+    public record Spec(int points, int iterations, List<Job> jobs) {
+    }
+
+    public record AccuracyRow(Job job, AccuracyResult result, long timeMillis) {
+    }
+
+    /**
+     * One benchmarked function of a performance job; {@code reference} marks the job's reference implementation.
+     */
+    public record PerformanceRow(Job job, String name, boolean reference, double nanosPerOperation,
+                                 double bytesPerOperation, long gcCount, long gcTimeMillis) {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path specFile = null;
+        Path outputDirectory = Path.of("batch-results");
+        int threads = Runtime.getRuntime().availableProcessors();
+        Integer performanceCpu = null;
+        boolean inProcessPerformance = false;
+        long timeoutSeconds = DEFAULT_TIMEOUT_SECONDS;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--spec" -> specFile = Path.of(args[++i]);
+                case "--output" -> outputDirectory = Path.of(args[++i]);
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--performance-cpu" -> performanceCpu = Integer.parseInt(args[++i]);
+                case "--in-process-performance" -> inProcessPerformance = true;
+                case "--timeout" -> timeoutSeconds = Long.parseLong(args[++i]);
+                default -> {
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.exit(2);
+                }
+            }
+        }
+
+        if (inProcessPerformance && performanceCpu != null) {
+            System.err.println("--performance-cpu needs a forked worker and cannot be combined with --in-process-performance");
+            System.exit(2);
+        }
+
+        Spec spec;
+        try {
+            spec = specFile != null ? readSpec(specFile) : defaultSpec();
+        } catch (IllegalArgumentException e) {
+            // A spec that cannot be parsed at all, e.g. a malformed number; nothing has run yet
+            System.err.println("Invalid spec: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+        List<String> failures = new ArrayList<>();
+        String isolation = performanceIsolation(inProcessPerformance, performanceCpu);
+
+        System.out.println("========== BATCH RUN ==========");
+        System.out.println("Jobs: " + spec.jobs().size());
+        System.out.println("Accuracy points: " + spec.points() + " on " + threads + " threads");
+        System.out.println("Performance iterations: " + spec.iterations() + " (" + isolation + ")");
+        System.out.println("Output: " + outputDirectory.toAbsolutePath());
+        System.out.println("===============================");
+
+        long startTime = System.nanoTime();
+        List<AccuracyRow> accuracy = runAccuracy(spec, threads, failures);
+        System.out.println("\nAccuracy: " + accuracy.size() + " results in "
+                + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+
+        List<PerformanceRow> performance = new ArrayList<>();
+        if (spec.iterations() > 0) {
+            startTime = System.nanoTime();
+            for (Job job : spec.jobs()) {
+                System.out.println("Benchmarking: " + job.function());
+                try {
+                    performance.addAll(inProcessPerformance
+                            ? runPerformance(job, spec.iterations())
+                            : runPerformanceForked(job, spec.iterations(), performanceCpu, timeoutSeconds));
+                } catch (RuntimeException | IOException e) {
+                    failures.add("performance " + job.function() + ": " + e.getMessage());
+                }
+            }
+            System.out.println("Performance: " + performance.size() + " results in "
+                    + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+        }
+
+        Files.createDirectories(outputDirectory);
+        writeAccuracy(outputDirectory.resolve(ACCURACY_FILE), accuracy);
+        writePerformance(outputDirectory.resolve(PERFORMANCE_FILE), performance);
+        writeRunInfo(outputDirectory.resolve(RUN_FILE), spec, threads, performanceCpu, isolation, failures);
+
+        if (!failures.isEmpty()) {
+            System.out.println("\nFailed jobs:");
+            failures.forEach(failure -> System.out.println("  " + failure));
+            System.exit(1);
+        }
+    }
+
+    public static Spec readSpec(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; properties.getProperty("job." + i + ".function") != null; i++) {
+            String prefix = "job." + i + ".";
+            String algorithms = properties.getProperty(prefix + "algorithms", "").trim();
+            jobs.add(new Job(properties.getProperty(prefix + "function"),
+                    properties.getProperty(prefix + "reference"),
+                    algorithms.isEmpty() ? List.of() : Arrays.stream(algorithms.split(";")).map(String::trim).toList(),
+                    Boolean.parseBoolean(properties.getProperty(prefix + "variants", "false")),
+                    optionalDouble(properties.getProperty(prefix + "start")),
+                    optionalDouble(properties.getProperty(prefix + "end"))));
+        }
+        if (jobs.isEmpty()) {
+            throw new IllegalArgumentException("Spec " + file + " defines no jobs (expected job.0.function)");
+        }
+
+        return new Spec(
+                Integer.parseInt(properties.getProperty("accuracy.points", String.valueOf(DEFAULT_POINTS))),
+                Integer.parseInt(properties.getProperty("performance.iterations", String.valueOf(DEFAULT_ITERATIONS))),
+                jobs);
+    }
+
+    public static Spec defaultSpec() {
+        List<Job> jobs = new ArrayList<>();
+        for (ApproximationFunction function : FunctionRegistry.createFunctions()) {
+            jobs.add(new Job(function.getName(), defaultReference(function), List.of(), false,
+                    function.getDefaultStartRange(), function.getDefaultEndRange()));
+        }
+        return new Spec(DEFAULT_POINTS, DEFAULT_ITERATIONS, jobs);
+    }
+
+    /**
+     * Runs one accuracy task per job and algorithm on a pool of {@code threads} threads. Results are returned in
+     * spec order; failed tasks are reported to {@code failures} instead.
+     */
+    public static List<AccuracyRow> runAccuracy(Spec spec, int threads, List<String> failures)
+            throws InterruptedException {
+        List<Future<AccuracyRow>> futures = new ArrayList<>();
+        List<String> labels = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (Job specJob : spec.jobs()) {
+                Job job;
+                DoubleUnaryOperator reference;
+                List<ApproximationAlgorithm> algorithms;
+                try {
+                    ApproximationFunction function = FunctionRegistry.findFunction(specJob.function());
+                    job = specJob.withDefaults(function);
+                    reference = findReference(function, job.reference());
+                    algorithms = FunctionRegistry.findAlgorithms(function, job.algorithms(), job.variants());
+                } catch (IllegalArgumentException e) {
+                    failures.add("accuracy " + specJob.function() + ": " + e.getMessage());
+                    continue;
+                }
+
+                for (ApproximationAlgorithm algorithm : algorithms) {
+                    labels.add(job.function() + " / " + algorithm.getName());
+                    futures.add(executor.submit(() -> {
+                        ApproximationTester tester = new ApproximationTester(job.function());
+                        tester.setReferenceFunction(reference, job.reference());
+                        tester.registerApproximation(algorithm.getFunction(), algorithm.getName());
+
+                        long startTime = System.nanoTime();
+                        AccuracyResult result = tester.measureAccuracy(job.start(), job.end(), spec.points()).getFirst();
+                        return new AccuracyRow(job, result, (System.nanoTime() - startTime) / 1_000_000);
+                    }));
+                }
+            }
+        }
+
+        List<AccuracyRow> rows = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                rows.add(futures.get(i).get());
+            } catch (ExecutionException e) {
+                failures.add("accuracy " + labels.get(i) + ": " + e.getCause());
+            }
+        }
+        return rows;
+    }
+
+    public static List<PerformanceRow> runPerformance(Job specJob, int iterations) {
+        ApproximationFunction function = FunctionRegistry.findFunction(specJob.function());
+        Job job = specJob.withDefaults(function);
+        ApproximationTester tester = new ApproximationTester(job.function());
+        tester.setReferenceFunction(findReference(function, job.reference()), job.reference());
+        for (ApproximationAlgorithm algorithm : FunctionRegistry.findAlgorithms(function, job.algorithms(), job.variants())) {
+            tester.registerApproximation(algorithm.getFunction(), algorithm.getName());
+        }
+
+        List<PerformanceRow> rows = new ArrayList<>();
+        List<PerformanceResult> results = tester.measurePerformance(iterations);
+        for (int i = 0; i < results.size(); i++) {
+            PerformanceResult result = results.get(i);
+            rows.add(new PerformanceRow(job, result.name(), i == 0, result.nanosPerOperation(),
+                    result.bytesPerOperation(), result.allocation().gcCount(), result.allocation().gcTimeMillis()));
+        }
+        return rows;
+    }
+
+    /**
+     * Runs the job in a {@link JvmBenchmarkWorker} child JVM. Unless {@code cpu} is {@code null}, the child is pinned
+     * to that CPU with {@code taskset}, and the whole child, including its JIT and GC threads, shares that one CPU.
+     */
+    public static List<PerformanceRow> runPerformanceForked(Job specJob, int iterations, Integer cpu,
+                                                            long timeoutSeconds)
+            throws IOException, InterruptedException {
+        ApproximationFunction function = FunctionRegistry.findFunction(specJob.function());
+        Job job = specJob.withDefaults(function);
+        List<String> workerArgs = new ArrayList<>(List.of(job.function(), String.valueOf(iterations), job.reference()));
+        for (ApproximationAlgorithm algorithm : FunctionRegistry.findAlgorithms(function, job.algorithms(), job.variants())) {
+            workerArgs.add(algorithm.getName());
+        }
+
+        List<String> command = new ArrayList<>();
+        if (cpu != null) {
+            command.addAll(List.of("taskset", "-c", String.valueOf(cpu)));
+        }
+        command.addAll(ForkedJvm.command(ForkedJvm.currentJavaExecutable(), List.of(), JvmBenchmarkWorker.class,
+                workerArgs));
+        ForkedJvm.Result result = ForkedJvm.run(command, timeoutSeconds);
+        if (!result.succeeded()) {
+            throw new IllegalStateException(result.failureMessage());
+        }
+
+        List<PerformanceRow> rows = new ArrayList<>();
+        for (Map.Entry<String, JvmFlagMatrixRunner.WorkerResult> entry
+                : JvmFlagMatrixRunner.parseResults(result.stdout()).entrySet()) {
+            JvmFlagMatrixRunner.WorkerResult worker = entry.getValue();
+            rows.add(new PerformanceRow(job, worker.name(), rows.isEmpty(), worker.nanosPerOperation(),
+                    worker.bytesPerOperation(), worker.gcCount(), worker.gcTimeMillis()));
+        }
+        return rows;
+    }
+
+    private static void writeAccuracy(Path file, List<AccuracyRow> rows) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println(String.join("\t", "function", "reference", "algorithm", "start", "end", "points",
+                    "invalid_points", "average_error", "max_error", "max_error_input", "max_relative_error", "max_relative_error_input",
+                    "max_ulp_error", "time_ms"));
+            for (AccuracyRow row : rows) {
+                AccuracyResult result = row.result();
+                out.println(String.join("\t", row.job().function(), row.job().reference(), result.name(),
+                        String.valueOf(row.job().start()), String.valueOf(row.job().end()),
+                        String.valueOf(result.points()), String.valueOf(result.invalidPoints()),
+                        String.valueOf(result.averageError()),
+                        String.valueOf(result.maxError()), String.valueOf(result.maxErrorInput()),
+                        String.valueOf(result.maxRelativeError()), String.valueOf(result.maxRelativeErrorInput()),
+                        String.valueOf(result.maxUlpError()), String.valueOf(row.timeMillis())));
+            }
+        }
+    }
+
+    private static void writePerformance(Path file, List<PerformanceRow> rows) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println(String.join("\t", "function", "reference", "algorithm", "is_reference", "ns_per_op",
+                    "speedup", "bytes_per_op", "gc_count", "gc_time_ms"));
+            double referenceTime = Double.NaN;
+            for (PerformanceRow row : rows) {
+                if (row.reference()) {
+                    referenceTime = row.nanosPerOperation();
+                }
+                out.println(String.join("\t", row.job().function(), row.job().reference(), row.name(),
+                        String.valueOf(row.reference()), String.valueOf(row.nanosPerOperation()),
+                        String.valueOf(referenceTime / row.nanosPerOperation()),
+                        String.valueOf(row.bytesPerOperation()), String.valueOf(row.gcCount()),
+                        String.valueOf(row.gcTimeMillis())));
+            }
+        }
+    }
+
+    private static void writeRunInfo(Path file, Spec spec, int threads, Integer performanceCpu, String isolation,
+                                     List<String> failures) throws IOException {
+        Properties info = new Properties();
+        info.setProperty("finished", Instant.now().toString());
+        info.setProperty("java.version", System.getProperty("java.version"));
+        info.setProperty("java.vm.name", System.getProperty("java.vm.name"));
+        info.setProperty("os.arch", System.getProperty("os.arch"));
+        info.setProperty("processors", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        info.setProperty("accuracy.threads", String.valueOf(threads));
+        info.setProperty("accuracy.points", String.valueOf(spec.points()));
+        info.setProperty("performance.iterations", String.valueOf(spec.iterations()));
+        info.setProperty("performance.cpu", performanceCpu != null ? String.valueOf(performanceCpu) : "unpinned");
+        info.setProperty("performance.isolation", isolation);
+        info.setProperty("jobs", String.valueOf(spec.jobs().size()));
+        info.setProperty("failures", String.valueOf(failures.size()));
+        for (int i = 0; i < failures.size(); i++) {
+            info.setProperty("failure." + i, failures.get(i));
+        }
+
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            info.store(writer, "Batch run");
+        }
+    }
+
+    private static String performanceIsolation(boolean inProcess, Integer cpu) {
+        if (inProcess) {
+            return "in-process, not isolated";
+        }
+        return cpu != null ? "forked JVM pinned to CPU " + cpu : "forked JVM";
+    }
+
+    private static Double optionalDouble(String value) {
+        return value != null ? Double.valueOf(value) : null;
+    }
+
+    private static String defaultReference(ApproximationFunction function) {
+        return function.getReferenceImplementations().keySet().iterator().next();
+    }
+
+    private static DoubleUnaryOperator findReference(ApproximationFunction function, String name) {
+        DoubleUnaryOperator reference = function.getReferenceImplementations().get(name);
+        if (reference == null) {
+            throw new IllegalArgumentException("Unknown reference implementation for " + function.getName() + ": " + name);
+        }
+        return reference;
+    }
+}
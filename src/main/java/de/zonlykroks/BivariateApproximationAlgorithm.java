@@ -0,0 +1,17 @@
+package de.zonlykroks;
+
+import java.util.function.DoubleBinaryOperator;
+
+public abstract class BivariateApproximationAlgorithm {
+    private final String name;
+
+    public BivariateApproximationAlgorithm(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public abstract DoubleBinaryOperator getFunction();
+}
@@ -0,0 +1,257 @@
+package de.zonlykroks;
+
+import javax.swing.*;
+import javax.swing.border.TitledBorder;
+import java.awt.*;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleBinaryOperator;
+
+import org.jfree.chart.ChartPanel;
+import org.jfree.chart.JFreeChart;
+
+public class BivariateApproximationFrame extends JFrame {
+    private static final long serialVersionUID = 1L;
+    private static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("#.##########");
+
+    private final transient Map<String, BivariateApproximationFunction> availableFunctions = new LinkedHashMap<>();
+    private final transient Map<String, Map<String, DoubleBinaryOperator>> availableApproximations =
+            new LinkedHashMap<>();
+
+    private JComboBox<String> functionComboBox;
+    private JComboBox<String> referenceComboBox;
+    private JComboBox<String> approximationComboBox;
+    private JTextField firstStartField;
+    private JTextField firstEndField;
+    private JTextField firstPointsField;
+    private JTextField secondStartField;
+    private JTextField secondEndField;
+    private JTextField secondPointsField;
+    private JTextField tilesField;
+    private JButton runButton;
+    private JTextArea resultsArea;
+
+    private BivariateApproximationFrame() {
+    }
+
+    /**
+     * Builds the UI only after construction, so no half-initialized frame is handed to Swing listeners.
+     */
+    public static BivariateApproximationFrame create() {
+        BivariateApproximationFrame frame = new BivariateApproximationFrame();
+        frame.setTitle("Bivariate Approximation Sweep");
+        frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        frame.setSize(700, 650);
+
+        frame.initializeUI();
+        frame.registerFunctions();
+        return frame;
+    }
+
+    private void initializeUI() {
+        setLayout(new BorderLayout());
+
+        JPanel functionPanel = new JPanel(new GridLayout(0, 2, 5, 5));
+        functionPanel.setBorder(new TitledBorder("Function Selection"));
+        functionPanel.add(new JLabel("Function:"));
+        functionComboBox = new JComboBox<>();
+        functionPanel.add(functionComboBox);
+        functionPanel.add(new JLabel("Reference Implementation:"));
+        referenceComboBox = new JComboBox<>();
+        functionPanel.add(referenceComboBox);
+        functionPanel.add(new JLabel("Approximation:"));
+        approximationComboBox = new JComboBox<>();
+        functionPanel.add(approximationComboBox);
+
+        JPanel gridPanel = new JPanel(new GridLayout(0, 2, 5, 5));
+        gridPanel.setBorder(new TitledBorder("Grid Parameters"));
+        gridPanel.add(new JLabel("First Argument Start:"));
+        firstStartField = new JTextField();
+        gridPanel.add(firstStartField);
+        gridPanel.add(new JLabel("First Argument End:"));
+        firstEndField = new JTextField();
+        gridPanel.add(firstEndField);
+        gridPanel.add(new JLabel("First Argument Points:"));
+        firstPointsField = new JTextField("2000");
+        gridPanel.add(firstPointsField);
+        gridPanel.add(new JLabel("Second Argument Start:"));
+        secondStartField = new JTextField();
+        gridPanel.add(secondStartField);
+        gridPanel.add(new JLabel("Second Argument End:"));
+        secondEndField = new JTextField();
+        gridPanel.add(secondEndField);
+        gridPanel.add(new JLabel("Second Argument Points:"));
+        secondPointsField = new JTextField("2000");
+        gridPanel.add(secondPointsField);
+        gridPanel.add(new JLabel("Heatmap Tiles per Axis:"));
+        tilesField = new JTextField("128");
+        gridPanel.add(tilesField);
+
+        JPanel controlPanel = new JPanel(new BorderLayout());
+        controlPanel.add(functionPanel, BorderLayout.NORTH);
+        controlPanel.add(gridPanel, BorderLayout.SOUTH);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        runButton = new JButton("Run Sweep and Show Heatmap");
+        buttonPanel.add(runButton);
+
+        resultsArea = new JTextArea();
+        resultsArea.setEditable(false);
+        JScrollPane scrollPane = new JScrollPane(resultsArea);
+        scrollPane.setPreferredSize(new Dimension(700, 250));
+
+        add(controlPanel, BorderLayout.NORTH);
+        add(buttonPanel, BorderLayout.CENTER);
+        add(scrollPane, BorderLayout.SOUTH);
+
+        functionComboBox.addActionListener(_ -> updateSelections());
+        runButton.addActionListener(_ -> runSweep());
+    }
+
+    private void registerFunctions() {
+        for (BivariateApproximationFunction function : FunctionRegistry.createBivariateFunctions()) {
+            availableFunctions.put(function.getName(), function);
+            Map<String, DoubleBinaryOperator> approximations = new LinkedHashMap<>();
+            for (BivariateApproximationAlgorithm algorithm : function.getApproximationAlgorithms()) {
+                approximations.put(algorithm.getName(), algorithm.getFunction());
+            }
+            availableApproximations.put(function.getName(), approximations);
+            functionComboBox.addItem(function.getName());
+        }
+    }
+
+    private void updateSelections() {
+        String selectedFunction = (String) functionComboBox.getSelectedItem();
+        if (selectedFunction == null) return;
+
+        BivariateApproximationFunction function = availableFunctions.get(selectedFunction);
+
+        referenceComboBox.removeAllItems();
+        for (String refName : function.getReferenceImplementations().keySet()) {
+            referenceComboBox.addItem(refName);
+        }
+
+        approximationComboBox.removeAllItems();
+        for (String approxName : availableApproximations.get(selectedFunction).keySet()) {
+            approximationComboBox.addItem(approxName);
+        }
+
+        firstStartField.setText(String.valueOf(function.getDefaultFirstStartRange()));
+        firstEndField.setText(String.valueOf(function.getDefaultFirstEndRange()));
+        secondStartField.setText(String.valueOf(function.getDefaultSecondStartRange()));
+        secondEndField.setText(String.valueOf(function.getDefaultSecondEndRange()));
+    }
+
+    private void runSweep() {
+        resultsArea.setText("");
+
+        final String selectedFunction = (String) functionComboBox.getSelectedItem();
+        final String selectedReference = (String) referenceComboBox.getSelectedItem();
+        final String selectedApproximation = (String) approximationComboBox.getSelectedItem();
+        if (selectedFunction == null || selectedReference == null || selectedApproximation == null) {
+            resultsArea.append("Please select function, reference, and approximation.");
+            return;
+        }
+
+        final BivariateApproximationFunction function = availableFunctions.get(selectedFunction);
+        final BivariateSweepEngine.Grid grid;
+        final int tiles;
+        try {
+            grid = new BivariateSweepEngine.Grid(
+                    Double.parseDouble(firstStartField.getText()), Double.parseDouble(firstEndField.getText()),
+                    Integer.parseInt(firstPointsField.getText()),
+                    Double.parseDouble(secondStartField.getText()), Double.parseDouble(secondEndField.getText()),
+                    Integer.parseInt(secondPointsField.getText()));
+            tiles = Integer.parseInt(tilesField.getText());
+        } catch (NumberFormatException ex) {
+            resultsArea.append("Invalid number format in one of the fields: " + ex.getMessage() + "\n");
+            return;
+        } catch (IllegalArgumentException ex) {
+            resultsArea.append(ex.getMessage() + "\n");
+            return;
+        }
+
+        final DoubleBinaryOperator reference = function.getReferenceImplementations().get(selectedReference);
+        final DoubleBinaryOperator approximation = availableApproximations.get(selectedFunction).get(selectedApproximation);
+
+        resultsArea.append("Function: " + selectedFunction + "\n");
+        resultsArea.append("Reference: " + selectedReference + "\n");
+        resultsArea.append("Approximation: " + selectedApproximation + "\n");
+        resultsArea.append("Grid: " + grid.firstPoints() + " x " + grid.secondPoints() + " = " + grid.size()
+                + " points on " + Runtime.getRuntime().availableProcessors() + " cores\n");
+
+        runButton.setEnabled(false);
+        final ConcurrentLinkedQueue<BivariateSweepEngine.TileAggregate> finishedTiles = new ConcurrentLinkedQueue<>();
+        final AtomicLong sweptPoints = new AtomicLong();
+
+        new SwingWorker<BivariateSweepEngine.TileAggregate, Long>() {
+            private long startTime;
+
+            @Override
+            protected BivariateSweepEngine.TileAggregate doInBackground() {
+                startTime = System.nanoTime();
+                return BivariateSweepEngine.sweep(reference, approximation, grid, tiles, tiles, tile -> {
+                    finishedTiles.add(tile);
+                    publish(sweptPoints.addAndGet(tile.count()));
+                });
+            }
+
+            @Override
+            protected void process(List<Long> progress) {
+                long done = progress.getLast();
+                setTitle("Bivariate Approximation Sweep - " + (100 * done / grid.size()) + "%");
+            }
+
+            @Override
+            protected void done() {
+                runButton.setEnabled(true);
+                setTitle("Bivariate Approximation Sweep");
+                try {
+                    BivariateSweepEngine.TileAggregate total = get();
+                    double seconds = (System.nanoTime() - startTime) / 1e9;
+
+                    resultsArea.append("\nSwept in " + DECIMAL_FORMAT.format(seconds) + " s ("
+                            + finishedTiles.size() + " tiles)\n");
+                    resultsArea.append("Average absolute error: " + DECIMAL_FORMAT.format(total.meanError()) + "\n");
+                    resultsArea.append("Maximum absolute error: " + DECIMAL_FORMAT.format(total.maxError()) + "\n");
+                    resultsArea.append("Maximum ULP error: " + DECIMAL_FORMAT.format(total.maxUlpError()) + "\n");
+                    resultsArea.append("Max abs error at " + function.getFirstArgumentName() + " = "
+                            + DECIMAL_FORMAT.format(total.maxErrorFirst()) + ", " + function.getSecondArgumentName()
+                            + " = " + DECIMAL_FORMAT.format(total.maxErrorSecond()) + "\n");
+                    if (total.invalidCount() > 0) {
+                        resultsArea.append("Points with NaN or infinite error: " + total.invalidCount() + "\n");
+                    }
+
+                    showHeatmap(selectedFunction + ": " + selectedApproximation, function,
+                            new ArrayList<>(finishedTiles));
+                } catch (Exception ex) {
+                    resultsArea.append("Error running sweep: " + ex.getMessage() + "\n");
+                    ex.printStackTrace();
+                }
+            }
+        }.execute();
+    }
+
+    private void showHeatmap(String title, BivariateApproximationFunction function,
+                             List<BivariateSweepEngine.TileAggregate> tiles) {
+        JFreeChart chart = BivariateHeatmap.createChart(title,
+                function.getFirstArgumentName(), function.getSecondArgumentName(), tiles);
+
+        JFrame chartFrame = new JFrame("Error Heatmap");
+        chartFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        chartFrame.setSize(800, 700);
+
+        ChartPanel chartPanel = new ChartPanel(chart);
+        chartPanel.setPreferredSize(new Dimension(760, 660));
+        chartPanel.setMouseWheelEnabled(true);
+
+        chartFrame.setContentPane(chartPanel);
+        chartFrame.setLocationRelativeTo(this);
+        chartFrame.setVisible(true);
+    }
+}
@@ -0,0 +1,61 @@
+package de.zonlykroks;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Two-argument counterpart of {@link ApproximationFunction}. Operators take the arguments in the function's own
+ * order, e.g. {@code (y, x)} for atan2, and the argument names label the heatmap axes.
+ */
+public abstract class BivariateApproximationFunction {
+    private final String name;
+    private final String firstArgumentName;
+    private final String secondArgumentName;
+    private final Map<String, DoubleBinaryOperator> referenceImplementations = new LinkedHashMap<>();
+
+    public BivariateApproximationFunction(String name, String firstArgumentName, String secondArgumentName) {
+        this.name = name;
+        this.firstArgumentName = firstArgumentName;
+        this.secondArgumentName = secondArgumentName;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getFirstArgumentName() {
+        return firstArgumentName;
+    }
+
+    public String getSecondArgumentName() {
+        return secondArgumentName;
+    }
+
+    /**
+     * Filled on first use rather than in the constructor, where the subclass would not be initialized yet.
+     */
+    public Map<String, DoubleBinaryOperator> getReferenceImplementations() {
+        if (referenceImplementations.isEmpty()) {
+            initializeReferenceImplementations();
+        }
+        return referenceImplementations;
+    }
+
+    public abstract double getDefaultFirstStartRange();
+
+    public abstract double getDefaultFirstEndRange();
+
+    public abstract double getDefaultSecondStartRange();
+
+    public abstract double getDefaultSecondEndRange();
+
+    public abstract List<BivariateApproximationAlgorithm> getApproximationAlgorithms();
+
+    protected abstract void initializeReferenceImplementations();
+
+    protected void addReferenceImplementation(String name, DoubleBinaryOperator function) {
+        referenceImplementations.put(name, function);
+    }
+}
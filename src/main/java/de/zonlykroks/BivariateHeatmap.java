@@ -0,0 +1,107 @@
+package de.zonlykroks;
+
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.LookupPaintScale;
+import org.jfree.chart.renderer.xy.XYBlockRenderer;
+import org.jfree.chart.title.PaintScaleLegend;
+import org.jfree.chart.title.TextTitle;
+import org.jfree.chart.ui.RectangleEdge;
+import org.jfree.data.xy.DefaultXYZDataset;
+
+import java.awt.*;
+import java.util.Collection;
+
+/**
+ * Heatmap of the maximum absolute error per tile. Only the tile aggregates are plotted, so the chart stays small
+ * however many grid points were swept. Tiles where every point had a NaN or infinite error are drawn in their own
+ * colour, outside the error scale.
+ */
+public final class BivariateHeatmap {
+    private static final int COLOR_STEPS = 64;
+    // Exact tiles would be log10(0) = -infinity; draw them at this floor instead
+    private static final double MIN_PLOTTED_ERROR = 1e-18;
+    private static final Color INVALID_COLOR = Color.BLACK;
+
+    private BivariateHeatmap() {
+    }
+
+    public static JFreeChart createChart(String title, String firstAxisLabel, String secondAxisLabel,
+                                         Collection<BivariateSweepEngine.TileAggregate> tiles) {
+        double[] xs = new double[tiles.size()];
+        double[] ys = new double[tiles.size()];
+        double[] zs = new double[tiles.size()];
+
+        double blockWidth = 0.0;
+        double blockHeight = 0.0;
+        double lower = Double.POSITIVE_INFINITY;
+        double upper = Double.NEGATIVE_INFINITY;
+        int invalidTiles = 0;
+
+        int i = 0;
+        for (BivariateSweepEngine.TileAggregate tile : tiles) {
+            xs[i] = (tile.firstStart() + tile.firstEnd()) / 2.0;
+            ys[i] = (tile.secondStart() + tile.secondEnd()) / 2.0;
+            blockWidth = Math.max(blockWidth, Math.abs(tile.firstEnd() - tile.firstStart()));
+            blockHeight = Math.max(blockHeight, Math.abs(tile.secondEnd() - tile.secondStart()));
+
+            if (tile.hasValidPoints()) {
+                zs[i] = Math.log10(Math.max(tile.maxError(), MIN_PLOTTED_ERROR));
+                lower = Math.min(lower, zs[i]);
+                upper = Math.max(upper, zs[i]);
+            } else {
+                // Below every bound, so the paint scale falls back to its default paint, INVALID_COLOR
+                zs[i] = Double.NEGATIVE_INFINITY;
+                invalidTiles++;
+            }
+            i++;
+        }
+
+        if (lower == Double.POSITIVE_INFINITY) {
+            lower = Math.log10(MIN_PLOTTED_ERROR);
+            upper = lower + 1.0;
+        } else if (!(upper > lower)) {
+            upper = lower + 1.0;
+        }
+
+        DefaultXYZDataset dataset = new DefaultXYZDataset();
+        dataset.addSeries("log10(max abs error)", new double[][]{xs, ys, zs});
+
+        LookupPaintScale paintScale = new LookupPaintScale(lower, upper, INVALID_COLOR);
+        for (int step = 0; step < COLOR_STEPS; step++) {
+            double fraction = (double) step / (COLOR_STEPS - 1);
+            // Blue for the smallest error through green and yellow to red for the largest
+            paintScale.add(lower + fraction * (upper - lower), Color.getHSBColor((float) (0.66 * (1.0 - fraction)), 0.9f, 0.95f));
+        }
+
+        XYBlockRenderer renderer = new XYBlockRenderer();
+        renderer.setBlockWidth(blockWidth);
+        renderer.setBlockHeight(blockHeight);
+        renderer.setPaintScale(paintScale);
+
+        NumberAxis xAxis = new NumberAxis(firstAxisLabel);
+        xAxis.setAutoRangeIncludesZero(false);
+        NumberAxis yAxis = new NumberAxis(secondAxisLabel);
+        yAxis.setAutoRangeIncludesZero(false);
+
+        XYPlot plot = new XYPlot(dataset, xAxis, yAxis, renderer);
+        plot.setDomainGridlinesVisible(false);
+        plot.setRangeGridlinesVisible(false);
+
+        JFreeChart chart = new JFreeChart(title, JFreeChart.DEFAULT_TITLE_FONT, plot, false);
+
+        NumberAxis scaleAxis = new NumberAxis("log10(max abs error)");
+        scaleAxis.setRange(lower, upper);
+        PaintScaleLegend legend = new PaintScaleLegend(paintScale, scaleAxis);
+        legend.setPosition(RectangleEdge.RIGHT);
+        legend.setMargin(4, 4, 40, 4);
+        chart.addSubtitle(legend);
+
+        if (invalidTiles > 0) {
+            chart.addSubtitle(new TextTitle(invalidTiles + " black tiles: NaN or infinite error at every point"));
+        }
+
+        return chart;
+    }
+}
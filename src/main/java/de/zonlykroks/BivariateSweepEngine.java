@@ -0,0 +1,145 @@
+package de.zonlykroks;
+
+import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates a bivariate approximation against its reference on a regular grid. The grid is split into tiles that
+ * are swept in parallel; each finished tile is reduced to a {@link TileAggregate} and handed to a consumer right
+ * away, so memory use depends on the number of tiles and not on the number of grid points.
+ */
+public final class BivariateSweepEngine {
+    private BivariateSweepEngine() {
+    }
+
+    /**
+     * Regular grid over {@code [firstStart, firstEnd) x [secondStart, secondEnd)}, sampled like
+     * {@link ApproximationTester#testRange}: {@code points} evenly spaced values starting at the range start.
+     */
+    public record Grid(double firstStart, double firstEnd, int firstPoints,
+                       double secondStart, double secondEnd, int secondPoints) {
+        public Grid {
+            if (firstPoints <= 0 || secondPoints <= 0) {
+                throw new IllegalArgumentException("Grid needs at least one point per axis");
+            }
+        }
+
+        public double firstStep() {
+            return (firstEnd - firstStart) / firstPoints;
+        }
+
+        public double secondStep() {
+            return (secondEnd - secondStart) / secondPoints;
+        }
+
+        public long size() {
+            return (long) firstPoints * secondPoints;
+        }
+    }
+
+    /**
+     * Error statistics of one tile, or of the whole grid for the value returned by {@link #sweep}. Points where the
+     * error is NaN or infinite (e.g. one side returned NaN or overflowed) are only counted in {@code invalidCount}.
+     */
+    public record TileAggregate(int tileFirst, int tileSecond,
+                                double firstStart, double firstEnd, double secondStart, double secondEnd,
+                                long count, long invalidCount, double sumError,
+                                double maxError, double maxErrorFirst, double maxErrorSecond, double maxUlpError) {
+        public double meanError() {
+            return hasValidPoints() ? sumError / (count - invalidCount) : Double.NaN;
+        }
+
+        public boolean hasValidPoints() {
+            return invalidCount < count;
+        }
+
+        TileAggregate merge(TileAggregate other) {
+            boolean otherWorse = other.maxError > maxError;
+            return new TileAggregate(-1, -1,
+                    Math.min(firstStart, other.firstStart), Math.max(firstEnd, other.firstEnd),
+                    Math.min(secondStart, other.secondStart), Math.max(secondEnd, other.secondEnd),
+                    count + other.count, invalidCount + other.invalidCount, sumError + other.sumError,
+                    otherWorse ? other.maxError : maxError,
+                    otherWorse ? other.maxErrorFirst : maxErrorFirst,
+                    otherWorse ? other.maxErrorSecond : maxErrorSecond,
+                    Math.max(maxUlpError, other.maxUlpError));
+        }
+    }
+
+    /**
+     * Sweeps the grid with at most {@code tilesFirst x tilesSecond} tiles. The consumer is called concurrently from
+     * the sweeping threads and must be thread-safe.
+     *
+     * @return the aggregate over the whole grid
+     */
+    public static TileAggregate sweep(DoubleBinaryOperator reference, DoubleBinaryOperator approximation, Grid grid,
+                                      int tilesFirst, int tilesSecond, Consumer<TileAggregate> tileConsumer) {
+        final int tileWidth = Math.ceilDiv(grid.firstPoints(), Math.max(1, Math.min(tilesFirst, grid.firstPoints())));
+        final int tileHeight = Math.ceilDiv(grid.secondPoints(), Math.max(1, Math.min(tilesSecond, grid.secondPoints())));
+        final int columns = Math.ceilDiv(grid.firstPoints(), tileWidth);
+        final int rows = Math.ceilDiv(grid.secondPoints(), tileHeight);
+
+        return IntStream.range(0, columns * rows)
+                .parallel()
+                .mapToObj(tile -> {
+                    TileAggregate aggregate = sweepTile(reference, approximation, grid,
+                            tile % columns, tile / columns, tileWidth, tileHeight);
+                    tileConsumer.accept(aggregate);
+                    return aggregate;
+                })
+                .reduce(TileAggregate::merge)
+                .orElseThrow();
+    }
+
+    private static TileAggregate sweepTile(DoubleBinaryOperator reference, DoubleBinaryOperator approximation,
+                                           Grid grid, int tileFirst, int tileSecond, int tileWidth, int tileHeight) {
+        final double firstStep = grid.firstStep();
+        final double secondStep = grid.secondStep();
+        final int firstFrom = tileFirst * tileWidth;
+        final int firstTo = Math.min(firstFrom + tileWidth, grid.firstPoints());
+        final int secondFrom = tileSecond * tileHeight;
+        final int secondTo = Math.min(secondFrom + tileHeight, grid.secondPoints());
+
+        long invalidCount = 0;
+        double sumError = 0.0;
+        double maxError = 0.0;
+        double maxErrorFirst = grid.firstStart() + firstFrom * firstStep;
+        double maxErrorSecond = grid.secondStart() + secondFrom * secondStep;
+        double maxUlpError = 0.0;
+
+        for (int j = secondFrom; j < secondTo; j++) {
+            double b = grid.secondStart() + j * secondStep;
+            for (int i = firstFrom; i < firstTo; i++) {
+                double a = grid.firstStart() + i * firstStep;
+                double referenceValue = reference.applyAsDouble(a, b);
+                double absError = Math.abs(referenceValue - approximation.applyAsDouble(a, b));
+
+                if (!Double.isFinite(absError)) {
+                    invalidCount++;
+                    continue;
+                }
+
+                sumError += absError;
+                if (absError > maxError) {
+                    maxError = absError;
+                    maxErrorFirst = a;
+                    maxErrorSecond = b;
+                }
+
+                if (Math.abs(referenceValue) > 1e-10) {
+                    double ulpError = absError / Math.ulp(referenceValue);
+                    if (ulpError > maxUlpError) {
+                        maxUlpError = ulpError;
+                    }
+                }
+            }
+        }
+
+        return new TileAggregate(tileFirst, tileSecond,
+                grid.firstStart() + firstFrom * firstStep, grid.firstStart() + firstTo * firstStep,
+                grid.secondStart() + secondFrom * secondStep, grid.secondStart() + secondTo * secondStep,
+                (long) (firstTo - firstFrom) * (secondTo - secondFrom), invalidCount, sumError,
+                maxError, maxErrorFirst, maxErrorSecond, maxUlpError);
+    }
+}
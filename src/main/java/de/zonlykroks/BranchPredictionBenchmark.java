@@ -0,0 +1,356 @@
+package de.zonlykroks;
+
+import de.zonlykroks.specialize.KernelSpecializer;
+import de.zonlykroks.specialize.SpecializedKernel;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Shows how much each algorithm depends on branch prediction. Every algorithm is benchmarked twice on the same
+ * input values, once in ascending order, where its branches are almost perfectly predictable, and once shuffled.
+ * The random/sorted time ratio is the misprediction penalty; branchless kernels should stay close to 1.
+ * <p>
+ * Usage: {@code BranchPredictionBenchmark [--function <name>] [--algorithms <name;name...>] [--iterations <n>]
+ * [--inputs <n>] [--perf] [--in-process] [--timeout <seconds>]}
+ * <p>
+ * Every measurement runs in its own {@link BranchPredictionWorker} child JVM. The branches live in the algorithms'
+ * own methods, whose profiles are shared by everything that runs in one JVM, so measuring both orders in the same
+ * JVM would compile the second one with branch profiles gathered on the first. {@code --in-process} does exactly
+ * that, trading accuracy for startup time.
+ * <p>
+ * With {@code --perf}, and when {@code perf stat} can read hardware counters on this machine, every worker runs
+ * under {@code perf stat}. A second worker with zero timed iterations is subtracted, so the reported branches,
+ * misses, instructions and cycles per operation cover only the timed loop. Otherwise only timings are reported.
+ */
+public final class BranchPredictionBenchmark {
+    static final long SEED = 42L;
+
+    private static final String DEFAULT_FUNCTION = "Sin Approximations";
+    private static final int DEFAULT_ITERATIONS = 10_000_000;
+    // Large enough that the predictor cannot learn the shuffled sequence by heart
+    private static final int DEFAULT_INPUTS = 1 << 16;
+    private static final long DEFAULT_TIMEOUT_SECONDS = 600;
+    private static final List<String> PERF_EVENTS = List.of("branches", "branch-misses", "instructions", "cycles");
+
+    private BranchPredictionBenchmark() {
+    }
+
+    public enum InputOrder {
+        SORTED,
+        RANDOM;
+
+        /**
+         * {@code count} uniform values in {@code [start, end)}; both orders contain exactly the same values.
+         */
+        public double[] inputs(double start, double end, int count, long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            double[] values = new double[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = start + random.nextDouble() * (end - start);
+            }
+            if (this == SORTED) {
+                Arrays.sort(values);
+            }
+            return values;
+        }
+    }
+
+    /**
+     * Hardware counter values per operation of the timed loop.
+     */
+    public record Counters(double branches, double branchMisses, double instructions, double cycles) {
+        public double missRate() {
+            return branchMisses / branches;
+        }
+
+        public double instructionsPerCycle() {
+            return instructions / cycles;
+        }
+    }
+
+    /**
+     * {@code counters} is {@code null} when hardware counters were not collected.
+     */
+    public record Result(String name, InputOrder order, double nanosPerOperation, Counters counters) {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String functionName = DEFAULT_FUNCTION;
+        List<String> algorithms = List.of();
+        int iterations = DEFAULT_ITERATIONS;
+        int inputs = DEFAULT_INPUTS;
+        boolean usePerf = false;
+        boolean inProcess = false;
+        long timeoutSeconds = DEFAULT_TIMEOUT_SECONDS;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--function" -> functionName = args[++i];
+                case "--algorithms" -> algorithms = Arrays.stream(args[++i].split(";")).map(String::trim).toList();
+                case "--iterations" -> iterations = Integer.parseInt(args[++i]);
+                case "--inputs" -> inputs = Integer.parseInt(args[++i]);
+                case "--perf" -> usePerf = true;
+                case "--in-process" -> inProcess = true;
+                case "--timeout" -> timeoutSeconds = Long.parseLong(args[++i]);
+                default -> {
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.exit(2);
+                }
+            }
+        }
+
+        ApproximationFunction function = FunctionRegistry.findFunction(functionName);
+        List<String> names = new ArrayList<>(function.getReferenceImplementations().keySet());
+        for (ApproximationAlgorithm algorithm : FunctionRegistry.findAlgorithms(function, algorithms, false)) {
+            names.add(algorithm.getName());
+        }
+
+        if (usePerf && inProcess) {
+            System.err.println("--perf needs a worker per measurement and cannot be combined with --in-process");
+            System.exit(2);
+        }
+        String perfProblem = usePerf ? perfProblem() : null;
+
+        System.out.println("========== BRANCH PREDICTION BENCHMARK ==========");
+        System.out.println("Function: " + function.getName());
+        System.out.println("Range: [" + function.getDefaultStartRange() + ", " + function.getDefaultEndRange() + "]");
+        System.out.println("Inputs: " + inputs + " values, iterations: " + iterations);
+        System.out.println("Isolation: " + (inProcess ? "in-process, branch profiles shared between orders"
+                : "one JVM per algorithm and order"));
+        if (usePerf) {
+            System.out.println("Hardware counters: " + (perfProblem == null ? "perf stat" : "unavailable, " + perfProblem));
+        }
+        System.out.println("=================================================");
+
+        List<Result> results = new ArrayList<>();
+        for (String name : names) {
+            for (InputOrder order : InputOrder.values()) {
+                System.out.println("Running: " + name + " (" + order.name().toLowerCase(Locale.ROOT) + ")");
+                if (inProcess) {
+                    results.add(measure(function, name, order, inputs, iterations));
+                } else if (usePerf && perfProblem == null) {
+                    results.add(measureWithPerf(function, name, order, inputs, iterations, timeoutSeconds));
+                } else {
+                    results.add(measureForked(function, name, order, inputs, iterations, timeoutSeconds));
+                }
+            }
+        }
+
+        System.out.println();
+        System.out.print(formatTable(results));
+    }
+
+    /**
+     * Measures in this JVM. The algorithm's own methods, and so their branch profiles, are shared with every earlier
+     * measurement of the same algorithm; see {@link #measureForked} for an isolated run.
+     */
+    public static Result measure(ApproximationFunction function, String name, InputOrder order, int inputs,
+                                 int iterations) {
+        double[] testValues = order.inputs(function.getDefaultStartRange(), function.getDefaultEndRange(), inputs, SEED);
+        SpecializedKernel kernel = KernelSpecializer.specialize(findFunction(function, name));
+
+        kernel.runLoop(testValues, iterations);
+        long startTime = System.nanoTime();
+        double sum = kernel.runLoop(testValues, iterations);
+        long time = System.nanoTime() - startTime;
+
+        if (Double.isNaN(sum)) {
+            System.out.println("  (" + name + " returned NaN)");
+        }
+        return new Result(name, order, (double) time / iterations, null);
+    }
+
+    /**
+     * Measures in a fresh {@link BranchPredictionWorker} JVM that has never seen the other order.
+     */
+    public static Result measureForked(ApproximationFunction function, String name, InputOrder order, int inputs,
+                                       int iterations, long timeoutSeconds) throws IOException, InterruptedException {
+        WorkerRun run = runWorker(function, name, order, inputs, iterations, iterations, false, timeoutSeconds);
+        return new Result(name, order, run.nanosPerOperation(), null);
+    }
+
+    public static Result measureWithPerf(ApproximationFunction function, String name, InputOrder order, int inputs,
+                                         int iterations, long timeoutSeconds) throws IOException, InterruptedException {
+        WorkerRun full = runWorker(function, name, order, inputs, iterations, iterations, true, timeoutSeconds);
+        WorkerRun baseline = runWorker(function, name, order, inputs, iterations, 0, true, timeoutSeconds);
+
+        Counters counters = new Counters(
+                (full.counters()[0] - baseline.counters()[0]) / iterations,
+                (full.counters()[1] - baseline.counters()[1]) / iterations,
+                (full.counters()[2] - baseline.counters()[2]) / iterations,
+                (full.counters()[3] - baseline.counters()[3]) / iterations);
+        return new Result(name, order, full.nanosPerOperation(), counters);
+    }
+
+    /**
+     * Finds a reference implementation or an algorithm (including parameterized variants) of {@code function} by
+     * name.
+     */
+    public static DoubleUnaryOperator findFunction(ApproximationFunction function, String name) {
+        DoubleUnaryOperator reference = function.getReferenceImplementations().get(name);
+        if (reference != null) {
+            return reference;
+        }
+        return FunctionRegistry.findAlgorithms(function, List.of(name), false).getFirst().getFunction();
+    }
+
+    /**
+     * One row per algorithm: ns/op for both orders and their ratio, plus branch misses per operation and the random
+     * order's miss rate when counters were collected.
+     */
+    public static String formatTable(List<Result> results) {
+        boolean withCounters = results.stream().anyMatch(result -> result.counters() != null);
+
+        int nameWidth = "Algorithm".length();
+        for (Result result : results) {
+            nameWidth = Math.max(nameWidth, result.name().length());
+        }
+
+        StringBuilder header = new StringBuilder(pad("Algorithm", nameWidth))
+                .append(" | ").append(pad("sorted ns/op", 12))
+                .append(" | ").append(pad("random ns/op", 12))
+                .append(" | ").append(pad("random/sorted", 13));
+        if (withCounters) {
+            header.append(" | ").append(pad("sorted miss/op", 14))
+                    .append(" | ").append(pad("random miss/op", 14))
+                    .append(" | ").append(pad("random miss %", 13))
+                    .append(" | ").append("random IPC");
+        }
+
+        StringBuilder table = new StringBuilder();
+        table.append("========== SORTED VS. RANDOM INPUT ORDER ==========\n");
+        table.append(header).append('\n');
+        table.append("-".repeat(header.length())).append('\n');
+
+        for (int i = 0; i + 1 < results.size(); i += 2) {
+            Result sorted = results.get(i);
+            Result random = results.get(i + 1);
+
+            table.append(pad(sorted.name(), nameWidth))
+                    .append(" | ").append(pad(format(sorted.nanosPerOperation()), 12))
+                    .append(" | ").append(pad(format(random.nanosPerOperation()), 12))
+                    .append(" | ").append(pad(format(random.nanosPerOperation() / sorted.nanosPerOperation()) + "x", 13));
+            if (withCounters) {
+                table.append(" | ").append(pad(format(sorted.counters().branchMisses()), 14))
+                        .append(" | ").append(pad(format(random.counters().branchMisses()), 14))
+                        .append(" | ").append(pad(format(random.counters().missRate() * 100), 13))
+                        .append(" | ").append(format(random.counters().instructionsPerCycle()));
+            }
+            table.append('\n');
+        }
+        return table.toString();
+    }
+
+    /**
+     * {@code counters} is {@code null} when the worker did not run under {@code perf stat}.
+     */
+    private record WorkerRun(double nanosPerOperation, double[] counters) {
+    }
+
+    private static WorkerRun runWorker(ApproximationFunction function, String name, InputOrder order, int inputs,
+                                       int warmup, int iterations, boolean withPerf, long timeoutSeconds)
+            throws IOException, InterruptedException {
+        Path perfOutput = withPerf ? Files.createTempFile("perf-stat-", ".csv") : null;
+        try {
+            List<String> command = new ArrayList<>(withPerf ? perfCommand(perfOutput) : List.of());
+            command.addAll(ForkedJvm.command(ForkedJvm.currentJavaExecutable(), List.of(), BranchPredictionWorker.class,
+                    List.of(function.getName(), name, order.name(), String.valueOf(inputs),
+                            String.valueOf(warmup), String.valueOf(iterations))));
+
+            ForkedJvm.Result result = ForkedJvm.run(command, timeoutSeconds);
+            if (!result.succeeded()) {
+                throw new IllegalStateException(name + ": " + result.failureMessage());
+            }
+
+            double nanosPerOperation = Double.NaN;
+            for (String line : result.stdout()) {
+                String[] fields = line.split("\t");
+                if (fields.length == 5 && fields[0].equals(BranchPredictionWorker.RESULT_PREFIX)) {
+                    nanosPerOperation = Double.parseDouble(fields[3]);
+                }
+            }
+            return new WorkerRun(nanosPerOperation,
+                    withPerf ? parsePerfOutput(Files.readAllLines(perfOutput, StandardCharsets.UTF_8)) : null);
+        } finally {
+            if (perfOutput != null) {
+                Files.deleteIfExists(perfOutput);
+            }
+        }
+    }
+
+    private static List<String> perfCommand(Path output) {
+        return List.of("perf", "stat", "-x", ",", "-e", String.join(",", PERF_EVENTS), "-o", output.toString(), "--");
+    }
+
+    /**
+     * Reads {@code perf stat -x ,} output into counts in {@link #PERF_EVENTS} order. Events perf could not count
+     * are NaN.
+     */
+    static double[] parsePerfOutput(List<String> lines) {
+        double[] counts = new double[PERF_EVENTS.size()];
+        Arrays.fill(counts, Double.NaN);
+        for (String line : lines) {
+            String[] fields = line.split(",");
+            if (line.startsWith("#") || fields.length < 3) {
+                continue;
+            }
+
+            // Event names may carry a PMU prefix or modifier, e.g. "cpu_core/branch-misses/" or "branch-misses:u"
+            String event = fields[2];
+            for (int i = 0; i < PERF_EVENTS.size(); i++) {
+                if (event.matches("(.*/)?" + PERF_EVENTS.get(i) + "(/.*|:.*)?")) {
+                    try {
+                        counts[i] = Double.parseDouble(fields[0]);
+                    } catch (NumberFormatException e) {
+                        counts[i] = Double.NaN;
+                    }
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Why {@code perf stat} cannot be used here, or {@code null} if it can.
+     */
+    private static String perfProblem() throws InterruptedException {
+        try {
+            Path output = Files.createTempFile("perf-stat-", ".csv");
+            try {
+                List<String> command = new ArrayList<>(perfCommand(output));
+                command.add("true");
+                ForkedJvm.Result result = ForkedJvm.run(command, 30);
+                if (!result.succeeded()) {
+                    return "perf stat failed (" + result.failureMessage() + ")";
+                }
+                for (double count : parsePerfOutput(Files.readAllLines(output, StandardCharsets.UTF_8))) {
+                    if (Double.isNaN(count)) {
+                        return "not all of " + PERF_EVENTS + " are supported";
+                    }
+                }
+                return null;
+            } finally {
+                Files.deleteIfExists(output);
+            }
+        } catch (IOException e) {
+            return "perf not found (" + e.getMessage() + ")";
+        }
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static String pad(String value, int width) {
+        return String.format("%-" + width + "s", value);
+    }
+}
@@ -0,0 +1,44 @@
+package de.zonlykroks;
+
+import de.zonlykroks.specialize.KernelSpecializer;
+import de.zonlykroks.specialize.SpecializedKernel;
+
+/**
+ * Child process entry point used by {@link BranchPredictionBenchmark} when it collects hardware counters. Runs one
+ * algorithm on one input order and prints a tab separated {@value #RESULT_PREFIX} line with ns/op.
+ * <p>
+ * Usage: {@code BranchPredictionWorker <function> <algorithm> <order> <inputs> <warmup> <iterations>}. The warmup
+ * does not depend on {@code iterations}, so a run with {@code 0} iterations measures everything except the timed
+ * loop and can be subtracted from a full run.
+ */
+public final class BranchPredictionWorker {
+    public static final String RESULT_PREFIX = "RESULT";
+
+    private BranchPredictionWorker() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 6) {
+            System.err.println("Usage: BranchPredictionWorker <function> <algorithm> <order> <inputs> <warmup> <iterations>");
+            System.exit(2);
+        }
+
+        ApproximationFunction function = FunctionRegistry.findFunction(args[0]);
+        BranchPredictionBenchmark.InputOrder order = BranchPredictionBenchmark.InputOrder.valueOf(args[2]);
+        int inputs = Integer.parseInt(args[3]);
+        int warmup = Integer.parseInt(args[4]);
+        int iterations = Integer.parseInt(args[5]);
+
+        double[] testValues = order.inputs(function.getDefaultStartRange(), function.getDefaultEndRange(), inputs,
+                BranchPredictionBenchmark.SEED);
+        SpecializedKernel kernel = KernelSpecializer.specialize(BranchPredictionBenchmark.findFunction(function, args[1]));
+
+        double sum = kernel.runLoop(testValues, warmup);
+        long startTime = System.nanoTime();
+        sum += kernel.runLoop(testValues, iterations);
+        long time = System.nanoTime() - startTime;
+
+        System.out.println(String.join("\t", RESULT_PREFIX, args[1], order.name(),
+                String.valueOf(iterations == 0 ? 0.0 : (double) time / iterations), String.valueOf(sum)));
+    }
+}
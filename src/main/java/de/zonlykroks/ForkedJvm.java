@@ -0,0 +1,91 @@
+package de.zonlykroks;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Launches a child JVM on the current classpath and captures its output.
+ */
+public final class ForkedJvm {
+    private ForkedJvm() {
+    }
+
+    public static String currentJavaExecutable() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    public static String javaExecutable(Path javaHome) {
+        return javaHome.resolve("bin").resolve("java").toString();
+    }
+
+    /**
+     * Builds {@code <java> <jvmFlags> -cp <current classpath> <mainClass> <args>}. {@code --enable-preview} is
+     * passed on when this JVM runs with it, because the child loads the same class files.
+     */
+    public static List<String> command(String javaExecutable, List<String> jvmFlags, Class<?> mainClass,
+                                       List<String> args) {
+        List<String> command = new ArrayList<>();
+        command.add(javaExecutable);
+        if (ManagementFactory.getRuntimeMXBean().getInputArguments().contains("--enable-preview")
+                && !jvmFlags.contains("--enable-preview")) {
+            command.add("--enable-preview");
+        }
+        command.addAll(jvmFlags);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(mainClass.getName());
+        command.addAll(args);
+        return command;
+    }
+
+    public static Result run(List<String> command, long timeoutSeconds) throws IOException, InterruptedException {
+        File stdout = File.createTempFile("forked-jvm-", ".out");
+        File stderr = File.createTempFile("forked-jvm-", ".err");
+        try {
+            Process process = new ProcessBuilder(command)
+                    .redirectOutput(stdout)
+                    .redirectError(stderr)
+                    .start();
+
+            boolean finished = process.waitFor(timeoutSeconds, TimeUnit.SECONDS);
+            if (!finished) {
+                process.destroyForcibly();
+                process.waitFor();
+            }
+
+            return new Result(
+                    finished ? process.exitValue() : -1,
+                    !finished,
+                    Files.readAllLines(stdout.toPath(), StandardCharsets.UTF_8),
+                    Files.readAllLines(stderr.toPath(), StandardCharsets.UTF_8));
+        } finally {
+            Files.deleteIfExists(stdout.toPath());
+            Files.deleteIfExists(stderr.toPath());
+        }
+    }
+
+    public record Result(int exitCode, boolean timedOut, List<String> stdout, List<String> stderr) {
+        public boolean succeeded() {
+            return !timedOut && exitCode == 0;
+        }
+
+        public String failureMessage() {
+            if (timedOut) {
+                return "timed out";
+            }
+            for (String line : stderr) {
+                if (!line.isBlank()) {
+                    return "exit code " + exitCode + ": " + line.trim();
+                }
+            }
+            return "exit code " + exitCode;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package de.zonlykroks;
+
+import de.zonlykroks.algorithm.atan2.Atan2ApproximationFunctions;
+import de.zonlykroks.algorithm.hypot.HypotApproximationFunctions;
+import de.zonlykroks.algorithm.sin.SinApproximationFunctions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class FunctionRegistry {
+    private FunctionRegistry() {
+    }
+
+    public static List<ApproximationFunction> createFunctions() {
+        return List.of(
+                new SinApproximationFunctions()
+        );
+    }
+
+    public static List<BivariateApproximationFunction> createBivariateFunctions() {
+        return List.of(
+                new Atan2ApproximationFunctions(),
+                new HypotApproximationFunctions()
+        );
+    }
+
+    public static ApproximationFunction findFunction(String name) {
+        for (ApproximationFunction function : createFunctions()) {
+            if (function.getName().equals(name)) {
+                return function;
+            }
+        }
+        throw new IllegalArgumentException("Unknown function: " + name);
+    }
+
+    /**
+     * Resolves algorithms of {@code function} by name, searching its fixed algorithms and the variants of its
+     * parameterized families. An empty list of names selects every fixed algorithm, plus every variant when
+     * {@code includeVariants} is set.
+     */
+    public static List<ApproximationAlgorithm> findAlgorithms(ApproximationFunction function, List<String> names,
+                                                              boolean includeVariants) {
+        List<ApproximationAlgorithm> candidates = new ArrayList<>(function.getApproximationAlgorithms());
+        if (includeVariants || !names.isEmpty()) {
+            for (ParameterizedApproximationAlgorithm family : function.getParameterizedAlgorithms()) {
+                candidates.addAll(family.getVariants());
+            }
+        }
+        if (names.isEmpty()) {
+            return candidates;
+        }
+
+        List<ApproximationAlgorithm> selected = new ArrayList<>();
+        for (String name : names) {
+            ApproximationAlgorithm match = null;
+            for (ApproximationAlgorithm candidate : candidates) {
+                if (candidate.getName().equals(name)) {
+                    match = candidate;
+                    break;
+                }
+            }
+            if (match == null) {
+                throw new IllegalArgumentException("Unknown algorithm for " + function.getName() + ": " + name);
+            }
+            selected.add(match);
+        }
+        return selected;
+    }
+}
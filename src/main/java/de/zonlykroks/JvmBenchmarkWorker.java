@@ -0,0 +1,59 @@
+package de.zonlykroks;
+
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Child process entry point used by {@link JvmFlagMatrixRunner} and {@link BatchRunner}. Benchmarks the algorithms
+ * of one function and prints one tab separated {@value #RESULT_PREFIX} line per measurement to stdout.
+ * <p>
+ * Usage: {@code JvmBenchmarkWorker <function> <iterations> [reference [algorithm...]]}. Without algorithm names
+ * every fixed algorithm of the function is benchmarked.
+ */
+public final class JvmBenchmarkWorker {
+    public static final String RESULT_PREFIX = "RESULT";
+
+    private JvmBenchmarkWorker() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: JvmBenchmarkWorker <function> <iterations> [reference [algorithm...]]");
+            System.exit(2);
+        }
+
+        ApproximationFunction function = FunctionRegistry.findFunction(args[0]);
+        int iterations = Integer.parseInt(args[1]);
+        String referenceName = args.length > 2
+                ? args[2]
+                : function.getReferenceImplementations().keySet().iterator().next();
+
+        DoubleUnaryOperator reference = function.getReferenceImplementations().get(referenceName);
+        if (reference == null) {
+            throw new IllegalArgumentException("Unknown reference implementation: " + referenceName);
+        }
+
+        ApproximationTester tester = new ApproximationTester(function.getName());
+        tester.setReferenceFunction(reference, referenceName);
+        List<String> algorithmNames = args.length > 3 ? List.of(args).subList(3, args.length) : List.of();
+        for (ApproximationAlgorithm algorithm : FunctionRegistry.findAlgorithms(function, algorithmNames, false)) {
+            tester.registerApproximation(algorithm.getFunction(), algorithm.getName());
+        }
+
+        List<PerformanceResult> results = tester.measurePerformance(iterations);
+        for (PerformanceResult result : results) {
+            System.out.println(format(result));
+        }
+    }
+
+    static String format(PerformanceResult result) {
+        return String.join("\t",
+                RESULT_PREFIX,
+                result.name(),
+                String.valueOf(result.nanosPerOperation()),
+                String.valueOf(result.bytesPerOperation()),
+                String.valueOf(result.allocation().allocatedBytes()),
+                String.valueOf(result.allocation().gcCount()),
+                String.valueOf(result.allocation().gcTimeMillis()));
+    }
+}
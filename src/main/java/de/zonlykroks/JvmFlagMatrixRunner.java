@@ -0,0 +1,247 @@
+package de.zonlykroks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Headless runner that benchmarks the same function in one child JVM per flag configuration and prints a
+ * combined ns/op comparison table.
+ * <p>
+ * Usage: {@code JvmFlagMatrixRunner [--function <name>] [--reference <name>] [--iterations <n>]
+ * [--matrix <file>] [--timeout <seconds>]}
+ * <p>
+ * A matrix file has one configuration per line, {@code label: [jdk=<java home>] <jvm flags...>}, for example
+ * <pre>
+ * C2:
+ * C2 without SuperWord: -XX:-UseSuperWord
+ * Graal: jdk=/opt/graalvm -XX:+UnlockExperimentalVMOptions -XX:+UseJVMCICompiler
+ * </pre>
+ * Blank lines and lines starting with {@code #} are ignored; labels cannot start with {@code -}. Without a matrix
+ * file a built-in set of common C2 flags is used.
+ */
+public final class JvmFlagMatrixRunner {
+    private static final String DEFAULT_FUNCTION = "Sin Approximations";
+    private static final int DEFAULT_ITERATIONS = 10_000_000;
+    private static final long DEFAULT_TIMEOUT_SECONDS = 600;
+
+    private JvmFlagMatrixRunner() {
+    }
+
+    public record JvmConfiguration(String label, String javaExecutable, List<String> flags) {
+    }
+
+    public record WorkerResult(String name, double nanosPerOperation, double bytesPerOperation, long allocatedBytes,
+                               long gcCount, long gcTimeMillis) {
+        public boolean allocatesInSteadyState() {
+            return allocatedBytes >= AllocationMeter.Result.STEADY_STATE_ALLOCATION_NOISE_BYTES;
+        }
+    }
+
+    public record RunOutcome(JvmConfiguration configuration, Map<String, WorkerResult> results, String error) {
+        public boolean succeeded() {
+            return error == null;
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String function = DEFAULT_FUNCTION;
+        String reference = null;
+        int iterations = DEFAULT_ITERATIONS;
+        Path matrixFile = null;
+        long timeoutSeconds = DEFAULT_TIMEOUT_SECONDS;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--function" -> function = args[++i];
+                case "--reference" -> reference = args[++i];
+                case "--iterations" -> iterations = Integer.parseInt(args[++i]);
+                case "--matrix" -> matrixFile = Path.of(args[++i]);
+                case "--timeout" -> timeoutSeconds = Long.parseLong(args[++i]);
+                default -> {
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.exit(2);
+                }
+            }
+        }
+
+        List<JvmConfiguration> matrix = matrixFile != null ? readMatrix(matrixFile) : defaultMatrix();
+
+        System.out.println("========== JVM FLAG MATRIX ==========");
+        System.out.println("Function: " + function);
+        System.out.println("Iterations: " + iterations);
+        System.out.println("Configurations: " + matrix.size());
+        System.out.println("=====================================");
+
+        List<RunOutcome> outcomes = new ArrayList<>();
+        for (JvmConfiguration configuration : matrix) {
+            System.out.println("\nRunning: " + configuration.label() + " " + configuration.flags());
+            RunOutcome outcome = run(configuration, function, reference, iterations, timeoutSeconds);
+            System.out.println(outcome.succeeded() ? "  done" : "  failed: " + outcome.error());
+            outcomes.add(outcome);
+        }
+
+        System.out.println();
+        System.out.print(formatTable(outcomes));
+    }
+
+    public static RunOutcome run(JvmConfiguration configuration, String function, String reference, int iterations,
+                                 long timeoutSeconds) throws IOException, InterruptedException {
+        List<String> workerArgs = new ArrayList<>(List.of(function, String.valueOf(iterations)));
+        if (reference != null) {
+            workerArgs.add(reference);
+        }
+
+        List<String> command = ForkedJvm.command(configuration.javaExecutable(), configuration.flags(),
+                JvmBenchmarkWorker.class, workerArgs);
+        ForkedJvm.Result result = ForkedJvm.run(command, timeoutSeconds);
+        if (!result.succeeded()) {
+            return new RunOutcome(configuration, Map.of(), result.failureMessage());
+        }
+
+        return new RunOutcome(configuration, parseResults(result.stdout()), null);
+    }
+
+    public static Map<String, WorkerResult> parseResults(List<String> lines) {
+        Map<String, WorkerResult> results = new LinkedHashMap<>();
+        for (String line : lines) {
+            String[] fields = line.split("\t");
+            if (fields.length != 7 || !fields[0].equals(JvmBenchmarkWorker.RESULT_PREFIX)) {
+                continue;
+            }
+            results.put(fields[1], new WorkerResult(
+                    fields[1],
+                    Double.parseDouble(fields[2]),
+                    Double.parseDouble(fields[3]),
+                    Long.parseLong(fields[4]),
+                    Long.parseLong(fields[5]),
+                    Long.parseLong(fields[6])));
+        }
+        return results;
+    }
+
+    public static List<JvmConfiguration> readMatrix(Path file) throws IOException {
+        List<JvmConfiguration> matrix = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+
+            // A line that starts with a flag has no label; its first ':' belongs to the flag, as in -XX:...
+            int separator = trimmed.indexOf(':');
+            if (separator <= 0 || trimmed.startsWith("-")) {
+                throw new IllegalArgumentException("Expected 'label: flags' in matrix line: " + line);
+            }
+
+            String label = trimmed.substring(0, separator).trim();
+            String javaExecutable = ForkedJvm.currentJavaExecutable();
+            List<String> flags = new ArrayList<>();
+            for (String token : trimmed.substring(separator + 1).trim().split("\\s+")) {
+                if (token.isEmpty()) {
+                    continue;
+                }
+                if (token.startsWith("jdk=")) {
+                    javaExecutable = ForkedJvm.javaExecutable(Path.of(token.substring("jdk=".length())));
+                } else {
+                    flags.add(token);
+                }
+            }
+            matrix.add(new JvmConfiguration(label, javaExecutable, flags));
+        }
+        return matrix;
+    }
+
+    public static List<JvmConfiguration> defaultMatrix() {
+        String java = ForkedJvm.currentJavaExecutable();
+        List<JvmConfiguration> matrix = new ArrayList<>(List.of(
+                new JvmConfiguration("C2 default", java, List.of()),
+                new JvmConfiguration("C2 -UseSuperWord", java, List.of("-XX:-UseSuperWord")),
+                new JvmConfiguration("C2 -UseCompressedOops", java, List.of("-XX:-UseCompressedOops")),
+                new JvmConfiguration("C1 only", java, List.of("-XX:TieredStopAtLevel=1"))
+        ));
+
+        String arch = System.getProperty("os.arch");
+        if (arch.equals("amd64") || arch.equals("x86_64")) {
+            matrix.add(new JvmConfiguration("C2 UseAVX=0", java, List.of("-XX:UseAVX=0")));
+            matrix.add(new JvmConfiguration("C2 UseAVX=2", java, List.of("-XX:UseAVX=2")));
+        }
+        return matrix;
+    }
+
+    /**
+     * One row per algorithm with ns/op per configuration and the fastest configuration. Cells marked with
+     * {@code *} allocated in steady state.
+     */
+    public static String formatTable(List<RunOutcome> outcomes) {
+        Set<String> names = new LinkedHashSet<>();
+        for (RunOutcome outcome : outcomes) {
+            names.addAll(outcome.results().keySet());
+        }
+
+        int nameWidth = "Algorithm".length();
+        for (String name : names) {
+            nameWidth = Math.max(nameWidth, name.length());
+        }
+
+        int[] columnWidths = new int[outcomes.size()];
+        for (int i = 0; i < outcomes.size(); i++) {
+            columnWidths[i] = Math.max(12, outcomes.get(i).configuration().label().length());
+        }
+
+        StringBuilder header = new StringBuilder(pad("Algorithm", nameWidth));
+        for (int i = 0; i < outcomes.size(); i++) {
+            header.append(" | ").append(pad(outcomes.get(i).configuration().label(), columnWidths[i]));
+        }
+        header.append(" | Fastest");
+
+        StringBuilder table = new StringBuilder();
+        table.append("========== NS/OP BY JVM CONFIGURATION ==========\n");
+        table.append(header).append('\n');
+        table.append("-".repeat(header.length())).append('\n');
+
+        for (String name : names) {
+            table.append(pad(name, nameWidth));
+            String fastest = "-";
+            double fastestTime = Double.MAX_VALUE;
+            for (int i = 0; i < outcomes.size(); i++) {
+                RunOutcome outcome = outcomes.get(i);
+                WorkerResult result = outcome.results().get(name);
+                String cell;
+                if (!outcome.succeeded()) {
+                    cell = "failed";
+                } else if (result == null) {
+                    cell = "-";
+                } else {
+                    cell = String.format(Locale.ROOT, "%.3f", result.nanosPerOperation())
+                            + (result.allocatesInSteadyState() ? "*" : "");
+                    if (result.nanosPerOperation() < fastestTime) {
+                        fastestTime = result.nanosPerOperation();
+                        fastest = outcome.configuration().label();
+                    }
+                }
+                table.append(" | ").append(pad(cell, columnWidths[i]));
+            }
+            table.append(" | ").append(fastest).append('\n');
+        }
+
+        table.append("\n* allocates in steady state\n");
+        for (RunOutcome outcome : outcomes) {
+            if (!outcome.succeeded()) {
+                table.append(outcome.configuration().label()).append(" failed: ").append(outcome.error()).append('\n');
+            }
+        }
+        return table.toString();
+    }
+
+    private static String pad(String value, int width) {
+        return String.format("%-" + width + "s", value);
+    }
+}
@@ -1,12 +1,15 @@
 package de.zonlykroks;
 
-import de.zonlykroks.algorithm.sin.SinApproximationFunctions;
+import de.zonlykroks.cache.EvictionPolicy;
+import de.zonlykroks.cache.MemoizationReport;
+import de.zonlykroks.export.SweepExportReader;
 
 import javax.swing.*;
 import javax.swing.border.TitledBorder;
 import java.awt.*;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.List;
 import java.util.function.DoubleUnaryOperator;
@@ -29,7 +32,15 @@ public class MathApproximationFramework extends JFrame {
     private JTextField pointsField;
     private JTextArea resultsArea;
     private JCheckBox reportWorstCheckbox;
+    private JCheckBox specializeKernelsCheckbox;
     private JTextField iterationsField;
+    private JTextField exportDirectoryField;
+    private JTextField samplingPrecisionField;
+    private JTextField maxSamplesField;
+    private JTextField cacheCapacityField;
+    private JTextField cacheQuantumField;
+    private JTextField distinctInputsField;
+    private JComboBox<EvictionPolicy> evictionPolicyComboBox;
 
     private final Map<String, ApproximationFunction> availableFunctions = new HashMap<>();
     private final Map<String, Map<String, ApproximationMethod>> availableApproximations = new HashMap<>();
@@ -39,6 +50,7 @@ public class MathApproximationFramework extends JFrame {
     private List<String> lastSelectedApproximations;
     private double lastStartRange;
     private double lastEndRange;
+    private transient Path lastExportDirectory;
 
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> {
@@ -96,18 +108,51 @@ public class MathApproximationFramework extends JFrame {
         reportWorstCheckbox = new JCheckBox();
         reportWorstCheckbox.setSelected(true);
         testPanel.add(reportWorstCheckbox);
+        testPanel.add(new JLabel("Specialize Loops per Algorithm:"));
+        specializeKernelsCheckbox = new JCheckBox();
+        specializeKernelsCheckbox.setSelected(true);
+        testPanel.add(specializeKernelsCheckbox);
         testPanel.add(new JLabel("Performance Iterations:"));
         iterationsField = new JTextField("1000000");
         testPanel.add(iterationsField);
+        testPanel.add(new JLabel("Export Directory (optional):"));
+        exportDirectoryField = new JTextField("");
+        testPanel.add(exportDirectoryField);
+        testPanel.add(new JLabel("Sampling Precision (relative):"));
+        samplingPrecisionField = new JTextField("0.01");
+        testPanel.add(samplingPrecisionField);
+        testPanel.add(new JLabel("Max Samples:"));
+        maxSamplesField = new JTextField("100000000");
+        testPanel.add(maxSamplesField);
+        testPanel.add(new JLabel("Cache Capacity:"));
+        cacheCapacityField = new JTextField("4096");
+        testPanel.add(cacheCapacityField);
+        testPanel.add(new JLabel("Cache Quantum:"));
+        cacheQuantumField = new JTextField("1e-6");
+        testPanel.add(cacheQuantumField);
+        testPanel.add(new JLabel("Distinct Inputs (memoization):"));
+        distinctInputsField = new JTextField("1000");
+        testPanel.add(distinctInputsField);
+        testPanel.add(new JLabel("Cache Eviction:"));
+        evictionPolicyComboBox = new JComboBox<>(EvictionPolicy.values());
+        testPanel.add(evictionPolicyComboBox);
 
         JButton accuracyButton = new JButton("Run Accuracy Test");
+        JButton sampledAccuracyButton = new JButton("Run Sampled Accuracy Test");
         JButton performanceButton = new JButton("Run Performance Test");
         JButton visualizeButton = new JButton("Visualize Results");
         JButton visualizeErrorButton = new JButton("Visualize Error Rates");
+        JButton paretoButton = new JButton("Pareto Frontier");
+        JButton memoizationButton = new JButton("Memoization Test");
+        JButton bivariateButton = new JButton("2D Functions...");
         buttonPanel.add(accuracyButton);
+        buttonPanel.add(sampledAccuracyButton);
         buttonPanel.add(performanceButton);
         buttonPanel.add(visualizeButton);
         buttonPanel.add(visualizeErrorButton);
+        buttonPanel.add(paretoButton);
+        buttonPanel.add(memoizationButton);
+        buttonPanel.add(bivariateButton);
 
         resultsArea = new JTextArea();
         resultsArea.setEditable(false);
@@ -126,13 +171,23 @@ public class MathApproximationFramework extends JFrame {
         functionComboBox.addActionListener(_ -> updateApproximationList());
 
         accuracyButton.addActionListener(_ -> runAccuracyTest());
+        sampledAccuracyButton.addActionListener(_ -> runSampledAccuracyTest());
         performanceButton.addActionListener(_ -> runPerformanceTest());
         visualizeButton.addActionListener(_ -> visualizeFunctions());
         visualizeErrorButton.addActionListener(_ -> visualizeErrors());
+        paretoButton.addActionListener(_ -> runParetoReport());
+        memoizationButton.addActionListener(_ -> runMemoizationTest());
+        bivariateButton.addActionListener(_ -> {
+            BivariateApproximationFrame frame = BivariateApproximationFrame.create();
+            frame.setLocationRelativeTo(this);
+            frame.setVisible(true);
+        });
     }
 
     private void registerFunctions() {
-        registerFunction(new SinApproximationFunctions());
+        for (ApproximationFunction function : FunctionRegistry.createFunctions()) {
+            registerFunction(function);
+        }
     }
 
     private void registerFunction(ApproximationFunction function) {
@@ -186,6 +241,7 @@ public class MathApproximationFramework extends JFrame {
             double end = Double.parseDouble(endRangeField.getText());
             int points = Integer.parseInt(pointsField.getText());
             boolean reportWorst = reportWorstCheckbox.isSelected();
+            String exportDirectory = exportDirectoryField.getText().trim();
 
             List<String> selectedApproximations = approximationList.getSelectedValuesList();
 
@@ -199,6 +255,9 @@ public class MathApproximationFramework extends JFrame {
             lastSelectedApproximations = new ArrayList<>(selectedApproximations);
             lastStartRange = start;
             lastEndRange = end;
+            // Only point the charts at the export once it has been completely written
+            lastExportDirectory = null;
+            Path exportPath = exportDirectory.isEmpty() ? null : Path.of(exportDirectory);
 
             resultsArea.append("Testing function: " + selectedFunction + "\n");
             resultsArea.append("Reference: " + selectedReference + "\n");
@@ -217,6 +276,8 @@ public class MathApproximationFramework extends JFrame {
                         availableApproximations.get(selectedFunction).get(approxName).function(),
                         approxName);
             }
+            tester.setExportDirectory(exportPath);
+            tester.setSpecializeKernels(specializeKernelsCheckbox.isSelected());
 
             StringBuilder output = new StringBuilder();
             CustomOutputStream cos = new CustomOutputStream(output, resultsArea);
@@ -225,9 +286,67 @@ public class MathApproximationFramework extends JFrame {
             System.setOut(customOut);
 
             resultsArea.append("\n--- TEST RESULTS ---\n\n");
-            tester.testRange(start, end, points, reportWorst);
+            boolean completed;
+            try {
+                completed = tester.testRange(start, end, points, reportWorst);
+            } finally {
+                System.setOut(oldOut);
+            }
+            if (completed) {
+                lastExportDirectory = exportPath;
+            }
+
+            resultsArea.setCaretPosition(0);
+
+        } catch (NumberFormatException ex) {
+            resultsArea.append("Invalid number format in one of the fields: " + ex.getMessage() + "\n");
+            ex.printStackTrace();
+        } catch (Exception ex) {
+            resultsArea.append("Error running test: " + ex.getMessage() + "\n");
+            ex.printStackTrace();
+        }
+    }
+
+    private void runSampledAccuracyTest() {
+        resultsArea.setText("Running sampled accuracy test...\n");
+
+        try {
+            String selectedFunction = (String) functionComboBox.getSelectedItem();
+            String selectedReference = (String) referenceComboBox.getSelectedItem();
+            double start = Double.parseDouble(startRangeField.getText());
+            double end = Double.parseDouble(endRangeField.getText());
+            SampledAccuracyEstimator.Settings defaults = SampledAccuracyEstimator.Settings.defaults();
+            SampledAccuracyEstimator.Settings settings = new SampledAccuracyEstimator.Settings(
+                    Double.parseDouble(samplingPrecisionField.getText()), defaults.confidence(),
+                    defaults.percentile(), defaults.batchSize(), Long.parseLong(maxSamplesField.getText()));
+
+            List<String> selectedApproximations = approximationList.getSelectedValuesList();
+
+            if (selectedFunction == null || selectedReference == null || selectedApproximations.isEmpty()) {
+                resultsArea.append("Please select function, reference, and at least one approximation method.");
+                return;
+            }
+
+            final ApproximationTester tester = new ApproximationTester(selectedFunction);
+            tester.setReferenceFunction(
+                    availableFunctions.get(selectedFunction).getReferenceImplementations().get(selectedReference),
+                    selectedReference);
+            for (String approxName : selectedApproximations) {
+                tester.registerApproximation(
+                        availableApproximations.get(selectedFunction).get(approxName).function(),
+                        approxName);
+            }
 
-            System.setOut(oldOut);
+            StringBuilder output = new StringBuilder();
+            CustomOutputStream cos = new CustomOutputStream(output, resultsArea);
+            PrintStream customOut = new PrintStream(cos);
+            PrintStream oldOut = System.out;
+            System.setOut(customOut);
+            try {
+                tester.testSampled(start, end, settings, System.nanoTime());
+            } finally {
+                System.setOut(oldOut);
+            }
 
             resultsArea.setCaretPosition(0);
 
@@ -260,6 +379,7 @@ public class MathApproximationFramework extends JFrame {
             resultsArea.append("Performance iterations: " + iterations + "\n\n");
 
             final ApproximationTester tester = new ApproximationTester(selectedFunction);
+            tester.setSpecializeKernels(specializeKernelsCheckbox.isSelected());
 
             final ApproximationFunction function = availableFunctions.get(selectedFunction);
             tester.setReferenceFunction(
@@ -278,17 +398,161 @@ public class MathApproximationFramework extends JFrame {
             PrintStream customOut = new PrintStream(cos);
             PrintStream oldOut = System.out;
             System.setOut(customOut);
+            try {
+                resultsArea.append("\n--- TEST RESULTS ---\n\n");
+                if (iterations > 0) {
+                    tester.testPerformance(iterations);
+                } else {
+                    resultsArea.append("Iterations must be greater than 0\n");
+                }
+            } finally {
+                System.setOut(oldOut);
+            }
 
-            resultsArea.append("\n--- TEST RESULTS ---\n\n");
-            if (iterations > 0) {
-                tester.testPerformance(iterations);
-            } else {
+            resultsArea.setCaretPosition(0);
+
+        } catch (NumberFormatException ex) {
+            resultsArea.append("Invalid number format in one of the fields: " + ex.getMessage() + "\n");
+            ex.printStackTrace();
+        } catch (Exception ex) {
+            resultsArea.append("Error running test: " + ex.getMessage() + "\n");
+            ex.printStackTrace();
+        }
+    }
+
+    private void runParetoReport() {
+        resultsArea.setText("Running accuracy-versus-cost sweep...\n");
+
+        try {
+            String selectedFunction = (String) functionComboBox.getSelectedItem();
+            String selectedReference = (String) referenceComboBox.getSelectedItem();
+            double start = Double.parseDouble(startRangeField.getText());
+            double end = Double.parseDouble(endRangeField.getText());
+            int points = Integer.parseInt(pointsField.getText());
+            int iterations = Integer.parseInt(iterationsField.getText());
+
+            if (selectedFunction == null || selectedReference == null) {
+                resultsArea.append("Please select function and reference.");
+                return;
+            }
+
+            final ApproximationFunction function = availableFunctions.get(selectedFunction);
+
+            List<ApproximationAlgorithm> variants = new ArrayList<>();
+            for (ParameterizedApproximationAlgorithm family : function.getParameterizedAlgorithms()) {
+                variants.addAll(family.getVariants());
+            }
+            for (String approxName : approximationList.getSelectedValuesList()) {
+                DoubleUnaryOperator approxFunction = availableApproximations.get(selectedFunction).get(approxName)
+                        .function();
+                variants.add(new ApproximationAlgorithm(approxName) {
+                    @Override
+                    public DoubleUnaryOperator getFunction() {
+                        return approxFunction;
+                    }
+                });
+            }
+
+            if (variants.isEmpty()) {
+                resultsArea.append("This function has no parameterized algorithms; select at least one approximation method.");
+                return;
+            }
+            if (iterations <= 0) {
                 resultsArea.append("Iterations must be greater than 0\n");
+                return;
             }
 
-            System.setOut(oldOut);
+            resultsArea.append("Testing function: " + selectedFunction + "\n");
+            resultsArea.append("Reference: " + selectedReference + "\n");
+            resultsArea.append("Variants: " + variants.size() + "\n\n");
 
-            resultsArea.setCaretPosition(0);
+            List<ParetoFrontierReport.VariantResult> results = ParetoFrontierReport.measure(selectedFunction,
+                    function.getReferenceImplementations().get(selectedReference), selectedReference,
+                    variants, start, end, points, iterations);
+
+            StringBuilder output = new StringBuilder();
+            CustomOutputStream cos = new CustomOutputStream(output, resultsArea);
+            PrintStream customOut = new PrintStream(cos);
+            PrintStream oldOut = System.out;
+            System.setOut(customOut);
+            try {
+                ParetoFrontierReport.print(results);
+            } finally {
+                System.setOut(oldOut);
+            }
+
+            JFreeChart chart = ParetoFrontierReport.createChart(
+                    "Accuracy vs. Cost: " + selectedFunction, results);
+
+            JFrame chartFrame = new JFrame("Pareto Frontier");
+            chartFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+            chartFrame.setSize(800, 600);
+
+            ChartPanel chartPanel = new ChartPanel(chart);
+            chartPanel.setPreferredSize(new Dimension(760, 560));
+            chartPanel.setMouseWheelEnabled(true);
+
+            chartFrame.setContentPane(chartPanel);
+            chartFrame.setLocationRelativeTo(this);
+            chartFrame.setVisible(true);
+
+        } catch (NumberFormatException ex) {
+            resultsArea.append("Invalid number format in one of the fields: " + ex.getMessage() + "\n");
+            ex.printStackTrace();
+        } catch (Exception ex) {
+            resultsArea.append("Error running test: " + ex.getMessage() + "\n");
+            ex.printStackTrace();
+        }
+    }
+
+    private void runMemoizationTest() {
+        resultsArea.setText("Running memoization test...\n");
+
+        try {
+            String selectedFunction = (String) functionComboBox.getSelectedItem();
+            String selectedReference = (String) referenceComboBox.getSelectedItem();
+            List<String> selectedApproximations = approximationList.getSelectedValuesList();
+            double start = Double.parseDouble(startRangeField.getText());
+            double end = Double.parseDouble(endRangeField.getText());
+            int iterations = Integer.parseInt(iterationsField.getText());
+            int capacity = Integer.parseInt(cacheCapacityField.getText());
+            double quantum = Double.parseDouble(cacheQuantumField.getText());
+            int distinctInputs = Integer.parseInt(distinctInputsField.getText());
+            EvictionPolicy policy = (EvictionPolicy) evictionPolicyComboBox.getSelectedItem();
+
+            if (selectedFunction == null || selectedReference == null) {
+                resultsArea.append("Please select function and reference.");
+                return;
+            }
+            if (iterations <= 0 || distinctInputs <= 0) {
+                resultsArea.append("Iterations and distinct inputs must be greater than 0\n");
+                return;
+            }
+
+            double[] inputs = MemoizationReport.repeatedInputs(start, end, distinctInputs, 1 << 16, 42L);
+
+            Map<String, DoubleUnaryOperator> functions = new LinkedHashMap<>();
+            functions.put(selectedReference,
+                    availableFunctions.get(selectedFunction).getReferenceImplementations().get(selectedReference));
+            for (String approxName : selectedApproximations) {
+                functions.put(approxName, availableApproximations.get(selectedFunction).get(approxName).function());
+            }
+
+            StringBuilder output = new StringBuilder();
+            CustomOutputStream cos = new CustomOutputStream(output, resultsArea);
+            PrintStream customOut = new PrintStream(cos);
+            PrintStream oldOut = System.out;
+            System.setOut(customOut);
+            try {
+                System.out.println("Memoization test (" + distinctInputs + " distinct inputs, " + policy
+                        + " eviction, quantum " + quantum + ")");
+                for (Map.Entry<String, DoubleUnaryOperator> entry : functions.entrySet()) {
+                    MemoizationReport.print(MemoizationReport.measure(entry.getKey(), entry.getValue(),
+                            quantum, capacity, policy, inputs, iterations));
+                }
+            } finally {
+                System.setOut(oldOut);
+            }
 
         } catch (NumberFormatException ex) {
             resultsArea.append("Invalid number format in one of the fields: " + ex.getMessage() + "\n");
@@ -318,18 +582,33 @@ public class MathApproximationFramework extends JFrame {
             }
 
             int visualizationPoints = 1000;
-            double step = (lastEndRange - lastStartRange) / (visualizationPoints - 1);
-
-            for (int i = 0; i < visualizationPoints; i++) {
-                double x = lastStartRange + i * step;
-                double refY = refFunc.applyAsDouble(x);
-                referenceSeries.add(x, refY);
-
-                for (String approxName : lastSelectedApproximations) {
-                    DoubleUnaryOperator approxFunc = availableApproximations.get(lastSelectedFunction)
-                            .get(approxName).function();
-                    double approxY = approxFunc.applyAsDouble(x);
-                    approxSeries.get(approxName).add(x, approxY);
+
+            if (lastExportDirectory != null) {
+                try (SweepExportReader export = SweepExportReader.open(lastExportDirectory)) {
+                    long[] indices = sampleIndices(export.size(), visualizationPoints);
+                    for (long index : indices) {
+                        double x = export.inputs().get(index);
+                        referenceSeries.add(x, export.references().get(index));
+
+                        for (String approxName : lastSelectedApproximations) {
+                            approxSeries.get(approxName).add(x, export.values(approxName).get(index));
+                        }
+                    }
+                }
+            } else {
+                double step = (lastEndRange - lastStartRange) / (visualizationPoints - 1);
+
+                for (int i = 0; i < visualizationPoints; i++) {
+                    double x = lastStartRange + i * step;
+                    double refY = refFunc.applyAsDouble(x);
+                    referenceSeries.add(x, refY);
+
+                    for (String approxName : lastSelectedApproximations) {
+                        DoubleUnaryOperator approxFunc = availableApproximations.get(lastSelectedFunction)
+                                .get(approxName).function();
+                        double approxY = approxFunc.applyAsDouble(x);
+                        approxSeries.get(approxName).add(x, approxY);
+                    }
                 }
             }
 
@@ -392,18 +671,32 @@ public class MathApproximationFramework extends JFrame {
             }
 
             int visualizationPoints = 1000;
-            double step = (lastEndRange - lastStartRange) / (visualizationPoints - 1);
-
-            for (int i = 0; i < visualizationPoints; i++) {
-                double x = lastStartRange + i * step;
-                double refY = refFunc.applyAsDouble(x);
-
-                for (String approxName : lastSelectedApproximations) {
-                    DoubleUnaryOperator approxFunc = availableApproximations.get(lastSelectedFunction)
-                            .get(approxName).function();
-                    double approxY = approxFunc.applyAsDouble(x);
-                    double error = Math.abs(approxY - refY);
-                    errorSeries.get(approxName).add(x, error);
+
+            if (lastExportDirectory != null) {
+                try (SweepExportReader export = SweepExportReader.open(lastExportDirectory)) {
+                    long[] indices = sampleIndices(export.size(), visualizationPoints);
+                    for (long index : indices) {
+                        double x = export.inputs().get(index);
+
+                        for (String approxName : lastSelectedApproximations) {
+                            errorSeries.get(approxName).add(x, export.errors(approxName).get(index));
+                        }
+                    }
+                }
+            } else {
+                double step = (lastEndRange - lastStartRange) / (visualizationPoints - 1);
+
+                for (int i = 0; i < visualizationPoints; i++) {
+                    double x = lastStartRange + i * step;
+                    double refY = refFunc.applyAsDouble(x);
+
+                    for (String approxName : lastSelectedApproximations) {
+                        DoubleUnaryOperator approxFunc = availableApproximations.get(lastSelectedFunction)
+                                .get(approxName).function();
+                        double approxY = approxFunc.applyAsDouble(x);
+                        double error = Math.abs(approxY - refY);
+                        errorSeries.get(approxName).add(x, error);
+                    }
                 }
             }
 
@@ -443,6 +736,19 @@ public class MathApproximationFramework extends JFrame {
         }
     }
 
+    /**
+     * Evenly spaced indices into an exported sweep, so charts read a fixed number of points from the mapped
+     * columns instead of recomputing them.
+     */
+    private static long[] sampleIndices(long size, int maxPoints) {
+        int count = (int) Math.min(size, maxPoints);
+        long[] indices = new long[count];
+        for (int i = 0; i < count; i++) {
+            indices[i] = count == 1 ? 0 : i * (size - 1) / (count - 1);
+        }
+        return indices;
+    }
+
     /**
      * Custom output stream that writes to both a StringBuilder and updates a JTextArea
      */
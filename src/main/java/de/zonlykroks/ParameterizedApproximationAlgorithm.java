@@ -0,0 +1,75 @@
+package de.zonlykroks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A family of approximation algorithms that differ only in a few tunable parameters, e.g. polynomial degree,
+ * iteration count or table size. Every combination of parameter values is one {@link ApproximationAlgorithm}
+ * variant.
+ */
+public abstract class ParameterizedApproximationAlgorithm {
+    private final String name;
+    private final List<AlgorithmParameter> parameters;
+
+    public ParameterizedApproximationAlgorithm(String name, AlgorithmParameter... parameters) {
+        this.name = name;
+        this.parameters = List.of(parameters);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<AlgorithmParameter> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Builds the function for one combination of parameter values. Expensive setup such as coefficient or table
+     * generation belongs here, not in the returned operator.
+     */
+    protected abstract DoubleUnaryOperator createFunction(Map<String, Integer> values);
+
+    public ApproximationAlgorithm createVariant(Map<String, Integer> values) {
+        final DoubleUnaryOperator function = createFunction(values);
+        return new ApproximationAlgorithm(variantName(values)) {
+            @Override
+            public DoubleUnaryOperator getFunction() {
+                return function;
+            }
+        };
+    }
+
+    public List<ApproximationAlgorithm> getVariants() {
+        List<ApproximationAlgorithm> variants = new ArrayList<>();
+        collectVariants(0, new LinkedHashMap<>(), variants);
+        return variants;
+    }
+
+    private void collectVariants(int parameterIndex, Map<String, Integer> values, List<ApproximationAlgorithm> variants) {
+        if (parameterIndex == parameters.size()) {
+            variants.add(createVariant(Map.copyOf(values)));
+            return;
+        }
+
+        AlgorithmParameter parameter = parameters.get(parameterIndex);
+        for (int value : parameter.values()) {
+            values.put(parameter.name(), value);
+            collectVariants(parameterIndex + 1, values, variants);
+        }
+        values.remove(parameter.name());
+    }
+
+    private String variantName(Map<String, Integer> values) {
+        StringJoiner joiner = new StringJoiner(", ", name + " [", "]");
+        for (AlgorithmParameter parameter : parameters) {
+            joiner.add(parameter.name() + "=" + values.get(parameter.name()));
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,147 @@
+package de.zonlykroks;
+
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.LogAxis;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Measures accuracy and speed of many algorithm variants with the same inputs and determines which of them are
+ * Pareto optimal, i.e. no other variant is both faster and at least as accurate. A variant with NaN or infinite
+ * errors on part of the range is never Pareto optimal: its error statistics only cover the remaining points.
+ */
+public final class ParetoFrontierReport {
+    // Log axes cannot show an error of exactly zero, so exact variants are drawn at this floor
+    private static final double MIN_PLOTTED_ERROR = 1e-18;
+
+    private ParetoFrontierReport() {
+    }
+
+    public record VariantResult(String name, double maxError, double maxUlpError, int invalidPoints,
+                                double nanosPerOperation, boolean onFrontier) {
+    }
+
+    public static List<VariantResult> measure(String functionName, DoubleUnaryOperator reference, String referenceName,
+                                              List<ApproximationAlgorithm> variants, double start, double end,
+                                              int points, int iterations) {
+        ApproximationTester tester = new ApproximationTester(functionName);
+        tester.setReferenceFunction(reference, referenceName);
+        for (ApproximationAlgorithm variant : variants) {
+            tester.registerApproximation(variant.getFunction(), variant.getName());
+        }
+
+        List<AccuracyResult> accuracy = tester.measureAccuracy(start, end, points);
+        Map<String, PerformanceResult> performance = new HashMap<>();
+        for (PerformanceResult result : tester.measurePerformance(iterations)) {
+            performance.put(result.name(), result);
+        }
+
+        List<VariantResult> results = new ArrayList<>();
+        for (AccuracyResult result : accuracy) {
+            results.add(new VariantResult(result.name(), result.maxError(), result.maxUlpError(),
+                    result.invalidPoints(), performance.get(result.name()).nanosPerOperation(), false));
+        }
+        return markFrontier(results);
+    }
+
+    /**
+     * Returns the results sorted by ns/op with {@code onFrontier} set for every variant without invalid points that
+     * is more accurate than all faster variants without invalid points.
+     */
+    public static List<VariantResult> markFrontier(List<VariantResult> results) {
+        List<VariantResult> sorted = new ArrayList<>(results);
+        sorted.sort(Comparator.comparingDouble(VariantResult::nanosPerOperation)
+                .thenComparingDouble(VariantResult::maxError));
+
+        List<VariantResult> marked = new ArrayList<>(sorted.size());
+        double bestError = Double.POSITIVE_INFINITY;
+        for (VariantResult result : sorted) {
+            boolean onFrontier = result.invalidPoints() == 0 && result.maxError() < bestError;
+            if (onFrontier) {
+                bestError = result.maxError();
+            }
+            marked.add(new VariantResult(result.name(), result.maxError(), result.maxUlpError(),
+                    result.invalidPoints(), result.nanosPerOperation(), onFrontier));
+        }
+        return marked;
+    }
+
+    public static void print(List<VariantResult> results) {
+        int nameWidth = "Variant".length();
+        for (VariantResult result : results) {
+            nameWidth = Math.max(nameWidth, result.name().length());
+        }
+
+        String format = "%-" + nameWidth + "s | %12s | %14s | %14s | %14s | %s%n";
+        System.out.println("========== ACCURACY VS COST (sorted by ns/op) ==========");
+        System.out.printf(Locale.ROOT, format, "Variant", "ns/op", "Max abs error", "Max ULP error", "Invalid points",
+                "Pareto");
+        for (VariantResult result : results) {
+            System.out.printf(Locale.ROOT, format,
+                    result.name(),
+                    String.format(Locale.ROOT, "%.3f", result.nanosPerOperation()),
+                    String.format(Locale.ROOT, "%.3e", result.maxError()),
+                    String.format(Locale.ROOT, "%.3e", result.maxUlpError()),
+                    String.valueOf(result.invalidPoints()),
+                    result.onFrontier() ? "*" : "");
+        }
+
+        System.out.println("\nPareto frontier (fastest variant for each error level):");
+        for (VariantResult result : results) {
+            if (result.onFrontier()) {
+                System.out.println(String.format(Locale.ROOT, "  %.3f ns/op  %.3e  %s",
+                        result.nanosPerOperation(), result.maxError(), result.name()));
+            }
+        }
+    }
+
+    public static JFreeChart createChart(String title, List<VariantResult> results) {
+        XYSeries variants = new XYSeries("Variants", false, true);
+        XYSeries frontier = new XYSeries("Pareto frontier", false, true);
+        List<String> variantNames = new ArrayList<>();
+        List<String> frontierNames = new ArrayList<>();
+
+        for (VariantResult result : results) {
+            double error = Math.max(result.maxError(), MIN_PLOTTED_ERROR);
+            variants.add(result.nanosPerOperation(), error);
+            variantNames.add(result.name());
+            if (result.onFrontier()) {
+                frontier.add(result.nanosPerOperation(), error);
+                frontierNames.add(result.name());
+            }
+        }
+
+        XYSeriesCollection dataset = new XYSeriesCollection();
+        dataset.addSeries(variants);
+        dataset.addSeries(frontier);
+
+        XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer();
+        renderer.setSeriesLinesVisible(0, false);
+        renderer.setSeriesShapesVisible(0, true);
+        renderer.setSeriesLinesVisible(1, true);
+        renderer.setSeriesShapesVisible(1, true);
+        renderer.setDefaultToolTipGenerator((data, series, item) -> {
+            String name = series == 0 ? variantNames.get(item) : frontierNames.get(item);
+            return String.format(Locale.ROOT, "%s: %.3f ns/op, max error %.3e",
+                    name, data.getXValue(series, item), data.getYValue(series, item));
+        });
+
+        NumberAxis costAxis = new NumberAxis("ns/op");
+        costAxis.setAutoRangeIncludesZero(false);
+        LogAxis errorAxis = new LogAxis("Max absolute error");
+
+        XYPlot plot = new XYPlot(dataset, costAxis, errorAxis, renderer);
+        return new JFreeChart(title, JFreeChart.DEFAULT_TITLE_FONT, plot, true);
+    }
+}
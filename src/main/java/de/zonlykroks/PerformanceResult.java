@@ -0,0 +1,20 @@
+package de.zonlykroks;
+
+public record PerformanceResult(String name, int iterations, long timeNanos, AllocationMeter.Result allocation,
+                                double checksum) {
+    public double timeMillis() {
+        return timeNanos / 1_000_000.0;
+    }
+
+    public double nanosPerOperation() {
+        return (double) timeNanos / iterations;
+    }
+
+    public double bytesPerOperation() {
+        return allocation.bytesPerOperation(iterations);
+    }
+
+    public boolean allocatesInSteadyState() {
+        return allocation.allocatesInSteadyState();
+    }
+}
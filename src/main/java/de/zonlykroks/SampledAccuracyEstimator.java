@@ -0,0 +1,257 @@
+package de.zonlykroks;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Monte Carlo alternative to {@link ApproximationTester#testRange} for ranges too wide to sweep densely. Inputs are
+ * drawn uniformly from {@code [start, end)} in rounds; each round runs one batch per core, every batch on its own
+ * {@link SplittableRandom} split off a seeded root, so results are reproducible for a given seed and core count.
+ * <p>
+ * After every round the mean absolute error gets a normal-approximation confidence interval and the requested
+ * percentile gets a distribution-free one from the binomial rank bounds. Sampling stops once both intervals are
+ * within the requested relative precision, or when {@code maxSamples} is reached.
+ * <p>
+ * Percentiles come from a log-scale histogram with {@value #BUCKETS_PER_DECADE} buckets per decade, so their
+ * intervals cannot get narrower than one bucket (about 0.23%); a finer relative precision never converges. A
+ * percentile whose interval reaches past 10^{@value #MAX_DECADE} is unbounded and never converges either. The
+ * functions are called from several threads and must be thread-safe.
+ */
+public final class SampledAccuracyEstimator {
+    private static final int BUCKETS_PER_DECADE = 1000;
+    private static final int MIN_DECADE = -20;
+    private static final int MAX_DECADE = 4;
+    // Bucket 0 holds errors below 10^MIN_DECADE (including exact results), the last one everything above 10^MAX_DECADE
+    private static final int BUCKET_COUNT = (MAX_DECADE - MIN_DECADE) * BUCKETS_PER_DECADE + 2;
+    // Below this many samples the normal approximations are not trusted and sampling always continues
+    private static final long MIN_SAMPLES = 10_000;
+
+    private SampledAccuracyEstimator() {
+    }
+
+    /**
+     * @param relativePrecision target half-width of both intervals relative to their estimate, e.g. {@code 0.01}
+     * @param confidence        two-sided confidence level of the intervals, e.g. {@code 0.95}
+     * @param percentile        error percentile to estimate, in {@code (0, 1)}, e.g. {@code 0.99}
+     * @param batchSize         samples per batch; one batch per core makes up a round
+     * @param maxSamples        hard upper bound on the number of samples
+     */
+    public record Settings(double relativePrecision, double confidence, double percentile, int batchSize,
+                           long maxSamples) {
+        public Settings {
+            if (!(relativePrecision > 0.0)) {
+                throw new IllegalArgumentException("Relative precision must be greater than 0: " + relativePrecision);
+            }
+            if (!(confidence > 0.0 && confidence < 1.0)) {
+                throw new IllegalArgumentException("Confidence must be in (0, 1): " + confidence);
+            }
+            if (!(percentile > 0.0 && percentile < 1.0)) {
+                throw new IllegalArgumentException("Percentile must be in (0, 1): " + percentile);
+            }
+            if (batchSize <= 0 || maxSamples <= 0) {
+                throw new IllegalArgumentException("Batch size and max samples must be greater than 0");
+            }
+        }
+
+        public static Settings defaults() {
+            return new Settings(0.01, 0.95, 0.99, 65_536, 100_000_000L);
+        }
+    }
+
+    /**
+     * Result of a sampled run. The intervals are {@code [lower, upper]} at {@link Settings#confidence()};
+     * {@code converged} is false when sampling hit {@code maxSamples} first. Samples where the error is NaN or
+     * infinite are counted in {@code invalidSamples} and excluded from everything else.
+     */
+    public record Estimate(String name, long samples, long invalidSamples, boolean converged,
+                           double meanError, double meanErrorLower, double meanErrorUpper,
+                           double percentile, double percentileError, double percentileErrorLower,
+                           double percentileErrorUpper, double maxError, double maxErrorInput) {
+    }
+
+    public static Estimate estimate(String name, DoubleUnaryOperator reference, DoubleUnaryOperator approximation,
+                                    double start, double end, Settings settings, long seed) {
+        final int parallelism = Runtime.getRuntime().availableProcessors();
+        final double z = inverseStandardNormal(0.5 + settings.confidence() / 2.0);
+        final SplittableRandom root = new SplittableRandom(seed);
+
+        Batch total = new Batch();
+        while (true) {
+            long remaining = settings.maxSamples() - total.count - total.invalidCount;
+            int streams = (int) Math.max(1, Math.min(parallelism, Math.ceilDiv(remaining, settings.batchSize())));
+
+            // Split on this thread so every batch gets the same stream regardless of scheduling
+            SplittableRandom[] randoms = new SplittableRandom[streams];
+            long[] sizes = new long[streams];
+            for (int i = 0; i < streams; i++) {
+                randoms[i] = root.split();
+                sizes[i] = Math.min(settings.batchSize(), remaining - (long) i * settings.batchSize());
+            }
+
+            Batch round = IntStream.range(0, streams)
+                    .parallel()
+                    .mapToObj(i -> sample(reference, approximation, start, end, randoms[i], sizes[i]))
+                    .reduce(Batch::merge)
+                    .orElseThrow();
+            total = total.merge(round);
+
+            Estimate estimate = total.toEstimate(name, settings, z);
+            if (estimate.converged() || total.count + total.invalidCount >= settings.maxSamples()) {
+                return estimate;
+            }
+        }
+    }
+
+    private static Batch sample(DoubleUnaryOperator reference, DoubleUnaryOperator approximation,
+                                double start, double end, SplittableRandom random, long size) {
+        Batch batch = new Batch();
+        for (long i = 0; i < size; i++) {
+            double x = start + random.nextDouble() * (end - start);
+            double error = Math.abs(reference.applyAsDouble(x) - approximation.applyAsDouble(x));
+            batch.add(x, error);
+        }
+        return batch;
+    }
+
+    /**
+     * Running statistics of one batch; batches are combined with Chan's pairwise update for the variance.
+     */
+    private static final class Batch {
+        private long count;
+        private long invalidCount;
+        private double mean;
+        private double m2;
+        private double maxError;
+        private double maxErrorInput;
+        private final long[] histogram = new long[BUCKET_COUNT];
+
+        void add(double x, double error) {
+            if (!Double.isFinite(error)) {
+                invalidCount++;
+                return;
+            }
+
+            count++;
+            double delta = error - mean;
+            mean += delta / count;
+            m2 += delta * (error - mean);
+
+            if (error > maxError) {
+                maxError = error;
+                maxErrorInput = x;
+            }
+            histogram[bucket(error)]++;
+        }
+
+        Batch merge(Batch other) {
+            Batch merged = new Batch();
+            merged.count = count + other.count;
+            merged.invalidCount = invalidCount + other.invalidCount;
+            if (merged.count > 0) {
+                double delta = other.mean - mean;
+                merged.mean = mean + delta * other.count / merged.count;
+                merged.m2 = m2 + other.m2 + delta * delta * ((double) count * other.count / merged.count);
+            }
+            boolean otherWorse = other.maxError > maxError;
+            merged.maxError = otherWorse ? other.maxError : maxError;
+            merged.maxErrorInput = otherWorse ? other.maxErrorInput : maxErrorInput;
+            Arrays.setAll(merged.histogram, i -> histogram[i] + other.histogram[i]);
+            return merged;
+        }
+
+        Estimate toEstimate(String name, Settings settings, double z) {
+            double halfWidth = count > 1 ? z * Math.sqrt(m2 / (count - 1) / count) : Double.POSITIVE_INFINITY;
+
+            double p = settings.percentile();
+            double rankSpread = z * Math.sqrt(count * p * (1.0 - p));
+            long lowerRank = (long) Math.max(0, Math.floor(count * p - rankSpread));
+            long upperRank = (long) Math.min(Math.max(count - 1, 0), Math.ceil(count * p + rankSpread));
+            int lowerBucket = bucketOfRank(lowerRank);
+            int estimateBucket = bucketOfRank((long) Math.min(Math.max(count - 1, 0), Math.floor(count * p)));
+            int upperBucket = bucketOfRank(upperRank);
+
+            double percentileError = bucketMidpoint(estimateBucket);
+            double percentileLower = bucketLowerEdge(lowerBucket);
+            double percentileUpper = bucketUpperEdge(upperBucket);
+
+            boolean meanConverged = halfWidth <= settings.relativePrecision() * mean;
+            // An interval inside bucket 0 means the percentile error is below 10^MIN_DECADE, i.e. zero for our purposes
+            boolean percentileConverged = upperBucket == 0 || Double.isFinite(percentileUpper)
+                    && percentileUpper - percentileLower <= 2 * settings.relativePrecision() * percentileError;
+            boolean converged = count >= MIN_SAMPLES && meanConverged && percentileConverged;
+
+            return new Estimate(name, count, invalidCount, converged,
+                    mean, Math.max(0.0, mean - halfWidth), mean + halfWidth,
+                    p, percentileError, percentileLower, percentileUpper, maxError, maxErrorInput);
+        }
+
+        private int bucketOfRank(long rank) {
+            long seen = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                seen += histogram[i];
+                if (seen > rank) {
+                    return i;
+                }
+            }
+            return histogram.length - 1;
+        }
+    }
+
+    private static int bucket(double error) {
+        if (error < Math.pow(10.0, MIN_DECADE)) {
+            return 0;
+        }
+        // Clamp before the cast, a huge error would otherwise overflow the int
+        double index = 1 + Math.floor((Math.log10(error) - MIN_DECADE) * BUCKETS_PER_DECADE);
+        return (int) Math.min(index, BUCKET_COUNT - 1);
+    }
+
+    private static double bucketLowerEdge(int bucket) {
+        return bucket == 0 ? 0.0 : Math.pow(10.0, MIN_DECADE + (double) (bucket - 1) / BUCKETS_PER_DECADE);
+    }
+
+    private static double bucketUpperEdge(int bucket) {
+        return bucket == BUCKET_COUNT - 1 ? Double.POSITIVE_INFINITY
+                : Math.pow(10.0, MIN_DECADE + (double) bucket / BUCKETS_PER_DECADE);
+    }
+
+    private static double bucketMidpoint(int bucket) {
+        if (bucket == 0) {
+            return 0.0;
+        }
+        if (bucket == BUCKET_COUNT - 1) {
+            return bucketLowerEdge(bucket);
+        }
+        return Math.sqrt(bucketLowerEdge(bucket) * bucketUpperEdge(bucket));
+    }
+
+    /**
+     * Inverse of the standard normal CDF (Acklam's rational approximation, relative error below 1.2e-9).
+     */
+    static double inverseStandardNormal(double p) {
+        final double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        final double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                6.680131188771972e+01, -1.328068155288572e+01};
+        final double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        final double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                3.754408661907416e+00};
+        final double low = 0.02425;
+
+        if (p < low) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        if (p > 1 - low) {
+            return -inverseStandardNormal(1 - p);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+}
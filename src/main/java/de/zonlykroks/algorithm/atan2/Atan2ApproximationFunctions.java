@@ -0,0 +1,102 @@
+package de.zonlykroks.algorithm.atan2;
+
+import de.zonlykroks.BivariateApproximationAlgorithm;
+import de.zonlykroks.BivariateApproximationFunction;
+import de.zonlykroks.algorithm.polynomial.Polynomial;
+import de.zonlykroks.specialize.KernelSpecializer;
+
+import java.util.List;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+public class Atan2ApproximationFunctions extends BivariateApproximationFunction {
+    private static final double MATH_PI = Math.PI;
+    private static final double MATH_HALF_PI = Math.PI / 2.0;
+    private static final double MATH_QUARTER_PI = Math.PI / 4.0;
+
+    // atan(z) = z * P(z^2) on [0, 1], coefficients in ascending powers of z^2
+    private static final Polynomial ATAN_POLYNOMIAL = Polynomial.of(
+            0.99997726, -0.33262347, 0.19354346, -0.11643287, 0.05265332, -0.01172120);
+
+    public Atan2ApproximationFunctions() {
+        super("Atan2 Approximations", "y", "x");
+    }
+
+    @Override
+    public double getDefaultFirstStartRange() {
+        return -1.0;
+    }
+
+    @Override
+    public double getDefaultFirstEndRange() {
+        return 1.0;
+    }
+
+    @Override
+    public double getDefaultSecondStartRange() {
+        return -1.0;
+    }
+
+    @Override
+    public double getDefaultSecondEndRange() {
+        return 1.0;
+    }
+
+    @Override
+    public List<BivariateApproximationAlgorithm> getApproximationAlgorithms() {
+        return List.of(
+                new BivariateApproximationAlgorithm("Cubic atan2 approximation") {
+                    @Override
+                    public DoubleBinaryOperator getFunction() {
+                        return (y, x) -> atan2(y, x,
+                                z -> MATH_QUARTER_PI * z - z * (z - 1.0) * (0.2447 + 0.0663 * z));
+                    }
+                },
+
+                new BivariateApproximationAlgorithm("Polynomial atan2 approximation (degree 11)") {
+                    @Override
+                    public DoubleBinaryOperator getFunction() {
+                        final DoubleUnaryOperator polynomial = KernelSpecializer.polynomial(ATAN_POLYNOMIAL, false);
+                        return (y, x) -> atan2(y, x, z -> z * polynomial.applyAsDouble(z * z));
+                    }
+                },
+
+                new BivariateApproximationAlgorithm("Polynomial atan2 approximation (degree 11) [Estrin, FMA]") {
+                    @Override
+                    public DoubleBinaryOperator getFunction() {
+                        final DoubleUnaryOperator polynomial = ATAN_POLYNOMIAL.evaluator(Polynomial.Scheme.ESTRIN, true);
+                        return (y, x) -> atan2(y, x, z -> z * polynomial.applyAsDouble(z * z));
+                    }
+                }
+        );
+    }
+
+    /**
+     * Reduces atan2 to atan on [0, 1] by octant symmetry; {@code atanUnit} only has to be accurate on that interval.
+     */
+    private static double atan2(double y, double x, DoubleUnaryOperator atanUnit) {
+        double absX = Math.abs(x);
+        double absY = Math.abs(y);
+        if (absX == 0.0 && absY == 0.0) {
+            return Math.atan2(y, x);
+        }
+
+        boolean steep = absY > absX;
+        double result = atanUnit.applyAsDouble(steep ? absX / absY : absY / absX);
+
+        if (steep) {
+            result = MATH_HALF_PI - result;
+        }
+        if (x < 0.0) {
+            result = MATH_PI - result;
+        }
+        // copySign rather than y < 0.0, so y = -0.0 gives -pi for negative x like Math.atan2
+        return Math.copySign(result, y);
+    }
+
+    @Override
+    protected void initializeReferenceImplementations() {
+        this.addReferenceImplementation("atan2", Math::atan2);
+        this.addReferenceImplementation("StrictMath.atan2", StrictMath::atan2);
+    }
+}
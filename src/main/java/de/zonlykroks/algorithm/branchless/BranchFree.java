@@ -0,0 +1,70 @@
+package de.zonlykroks.algorithm.branchless;
+
+/**
+ * Select-style helpers for writing kernels without data-dependent branches. Comparisons are turned into all-ones or
+ * all-zero masks from the sign bit of a difference, and masks pick between two values with plain bit operations,
+ * so the JIT has no branch left to mispredict.
+ * <p>
+ * The comparison helpers read the sign of {@code a - b}. That is exact for finite arguments, except that
+ * {@code -0.0 - 0.0} counts as "less". They are meant for range checks on ordinary values, not for NaN handling.
+ */
+public final class BranchFree {
+    public static final int FLOAT_SIGN_BIT = 0x8000_0000;
+    public static final long DOUBLE_SIGN_BIT = 0x8000_0000_0000_0000L;
+
+    private BranchFree() {
+    }
+
+    /**
+     * All ones when {@code a < b}, otherwise zero.
+     */
+    public static int lessThanMask(float a, float b) {
+        return Float.floatToRawIntBits(a - b) >> 31;
+    }
+
+    /**
+     * All ones when {@code a < b}, otherwise zero.
+     */
+    public static long lessThanMask(double a, double b) {
+        return Double.doubleToRawLongBits(a - b) >> 63;
+    }
+
+    /**
+     * {@code 1} when {@code a >= b}, otherwise {@code 0}; handy for summing up a segment index.
+     */
+    public static int atLeast(float a, float b) {
+        return ~lessThanMask(a, b) & 1;
+    }
+
+    public static float select(int mask, float ifSet, float otherwise) {
+        return Float.intBitsToFloat((Float.floatToRawIntBits(ifSet) & mask)
+                | (Float.floatToRawIntBits(otherwise) & ~mask));
+    }
+
+    public static double select(long mask, double ifSet, double otherwise) {
+        return Double.longBitsToDouble((Double.doubleToRawLongBits(ifSet) & mask)
+                | (Double.doubleToRawLongBits(otherwise) & ~mask));
+    }
+
+    /**
+     * {@code value} with its sign flipped when {@code signBit} is {@link #FLOAT_SIGN_BIT}.
+     */
+    public static float flipSign(float value, int signBit) {
+        return Float.intBitsToFloat(Float.floatToRawIntBits(value) ^ signBit);
+    }
+
+    /**
+     * {@code value} with its sign flipped when {@code signBit} is {@link #DOUBLE_SIGN_BIT}.
+     */
+    public static double flipSign(double value, long signBit) {
+        return Double.longBitsToDouble(Double.doubleToRawLongBits(value) ^ signBit);
+    }
+
+    public static int signBit(float value) {
+        return Float.floatToRawIntBits(value) & FLOAT_SIGN_BIT;
+    }
+
+    public static long signBit(double value) {
+        return Double.doubleToRawLongBits(value) & DOUBLE_SIGN_BIT;
+    }
+}
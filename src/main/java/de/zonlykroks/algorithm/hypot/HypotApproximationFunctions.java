@@ -0,0 +1,72 @@
+package de.zonlykroks.algorithm.hypot;
+
+import de.zonlykroks.BivariateApproximationAlgorithm;
+import de.zonlykroks.BivariateApproximationFunction;
+
+import java.util.List;
+import java.util.function.DoubleBinaryOperator;
+
+public class HypotApproximationFunctions extends BivariateApproximationFunction {
+    // Alpha max plus beta min with the coefficients that minimize the maximum relative error (about 3.96%)
+    private static final double ALPHA = 0.96043387010342;
+    private static final double BETA = 0.39782473475840;
+
+    public HypotApproximationFunctions() {
+        super("Hypot Approximations", "x", "y");
+    }
+
+    @Override
+    public double getDefaultFirstStartRange() {
+        return -10.0;
+    }
+
+    @Override
+    public double getDefaultFirstEndRange() {
+        return 10.0;
+    }
+
+    @Override
+    public double getDefaultSecondStartRange() {
+        return -10.0;
+    }
+
+    @Override
+    public double getDefaultSecondEndRange() {
+        return 10.0;
+    }
+
+    @Override
+    public List<BivariateApproximationAlgorithm> getApproximationAlgorithms() {
+        return List.of(
+                new BivariateApproximationAlgorithm("Naive sqrt(x*x + y*y)") {
+                    @Override
+                    public DoubleBinaryOperator getFunction() {
+                        return (x, y) -> Math.sqrt(x * x + y * y);
+                    }
+                },
+
+                new BivariateApproximationAlgorithm("FMA sqrt(x*x + y*y)") {
+                    @Override
+                    public DoubleBinaryOperator getFunction() {
+                        return (x, y) -> Math.sqrt(Math.fma(x, x, y * y));
+                    }
+                },
+
+                new BivariateApproximationAlgorithm("Alpha max plus beta min") {
+                    @Override
+                    public DoubleBinaryOperator getFunction() {
+                        return (x, y) -> {
+                            double absX = Math.abs(x);
+                            double absY = Math.abs(y);
+                            return ALPHA * Math.max(absX, absY) + BETA * Math.min(absX, absY);
+                        };
+                    }
+                }
+        );
+    }
+
+    @Override
+    protected void initializeReferenceImplementations() {
+        this.addReferenceImplementation("hypot", Math::hypot);
+    }
+}
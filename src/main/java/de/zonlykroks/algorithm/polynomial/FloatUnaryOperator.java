@@ -0,0 +1,6 @@
+package de.zonlykroks.algorithm.polynomial;
+
+@FunctionalInterface
+public interface FloatUnaryOperator {
+    float applyAsFloat(float operand);
+}
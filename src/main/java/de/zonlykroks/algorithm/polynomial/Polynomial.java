@@ -0,0 +1,285 @@
+package de.zonlykroks.algorithm.polynomial;
+
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Polynomial with coefficients in ascending order of power ({@code c[0] + c[1]*x + c[2]*x^2 + ...}) that can be
+ * evaluated with different schemes, with or without {@link Math#fma}, in double or float precision.
+ * <p>
+ * The static kernels only read the coefficient array and never allocate. Each {@link Scheme}/FMA/precision
+ * combination is returned as its own lambda so every call site that uses one of them stays monomorphic.
+ * <p>
+ * The kernels are generic loops over the coefficient array, not code specialized per degree. Once a polynomial is
+ * fixed, {@code KernelSpecializer.polynomial} turns it into a constant-folded chain instead.
+ */
+public final class Polynomial {
+    public enum Scheme {
+        /**
+         * One serial multiply-add chain of length degree.
+         */
+        HORNER("Horner"),
+        /**
+         * Independent 4-coefficient blocks {@code (c0 + c1*x) + x^2*(c2 + c3*x)}. Up to degree 7 the two blocks
+         * are combined with {@code x^4} and this is Estrin's scheme; above degree 7 it is not a full Estrin tree but
+         * Horner's scheme in {@code x^4} over the blocks, so the dependency chain still grows linearly with the
+         * degree, four times more slowly than with {@link #HORNER}.
+         */
+        ESTRIN("Estrin"),
+        /**
+         * {@code E(x^2) + x*O(x^2)}: two independent Horner chains of half the length.
+         */
+        EVEN_ODD("Even/odd");
+
+        private final String displayName;
+
+        Scheme(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private final double[] coefficients;
+    private final float[] floatCoefficients;
+
+    private Polynomial(double[] coefficients) {
+        this.coefficients = coefficients;
+        this.floatCoefficients = new float[coefficients.length];
+        for (int i = 0; i < coefficients.length; i++) {
+            floatCoefficients[i] = (float) coefficients[i];
+        }
+    }
+
+    public static Polynomial of(double... coefficients) {
+        if (coefficients.length == 0) {
+            throw new IllegalArgumentException("A polynomial needs at least one coefficient");
+        }
+        return new Polynomial(coefficients.clone());
+    }
+
+    public int degree() {
+        return coefficients.length - 1;
+    }
+
+    public double[] getCoefficients() {
+        return coefficients.clone();
+    }
+
+    public double evaluate(double x) {
+        return horner(coefficients, x);
+    }
+
+    public DoubleUnaryOperator evaluator(Scheme scheme, boolean fma) {
+        final double[] c = coefficients;
+        return switch (scheme) {
+            case HORNER -> fma ? x -> hornerFma(c, x) : x -> horner(c, x);
+            case ESTRIN -> fma ? x -> estrinFma(c, x) : x -> estrin(c, x);
+            case EVEN_ODD -> fma ? x -> evenOddFma(c, x) : x -> evenOdd(c, x);
+        };
+    }
+
+    public FloatUnaryOperator floatEvaluator(Scheme scheme, boolean fma) {
+        final float[] c = floatCoefficients;
+        return switch (scheme) {
+            case HORNER -> fma ? x -> hornerFma(c, x) : x -> horner(c, x);
+            case ESTRIN -> fma ? x -> estrinFma(c, x) : x -> estrin(c, x);
+            case EVEN_ODD -> fma ? x -> evenOddFma(c, x) : x -> evenOdd(c, x);
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "Polynomial" + Arrays.toString(coefficients);
+    }
+
+    // ---- Horner: one serial multiply-add chain of length degree ----
+
+    public static double horner(double[] c, double x) {
+        double result = c[c.length - 1];
+        for (int i = c.length - 2; i >= 0; i--) {
+            result = result * x + c[i];
+        }
+        return result;
+    }
+
+    public static double hornerFma(double[] c, double x) {
+        double result = c[c.length - 1];
+        for (int i = c.length - 2; i >= 0; i--) {
+            result = Math.fma(result, x, c[i]);
+        }
+        return result;
+    }
+
+    public static float horner(float[] c, float x) {
+        float result = c[c.length - 1];
+        for (int i = c.length - 2; i >= 0; i--) {
+            result = result * x + c[i];
+        }
+        return result;
+    }
+
+    public static float hornerFma(float[] c, float x) {
+        float result = c[c.length - 1];
+        for (int i = c.length - 2; i >= 0; i--) {
+            result = Math.fma(result, x, c[i]);
+        }
+        return result;
+    }
+
+    // ---- Estrin: independent 4-coefficient blocks (c0 + c1*x) + x^2*(c2 + c3*x), combined in powers of x^4 ----
+    // Up to degree 7 this is exactly Estrin's scheme; above that the blocks are chained by Horner in x^4 rather
+    // than combined pairwise in x^8, x^16, ..., which keeps the kernels a single allocation-free loop for any degree.
+
+    public static double estrin(double[] c, double x) {
+        final double x2 = x * x;
+        final double x4 = x2 * x2;
+        int top = (c.length - 1) & ~3;
+        double result = switch (c.length - top) {
+            case 1 -> c[top];
+            case 2 -> c[top] + c[top + 1] * x;
+            case 3 -> (c[top] + c[top + 1] * x) + c[top + 2] * x2;
+            default -> (c[top] + c[top + 1] * x) + x2 * (c[top + 2] + c[top + 3] * x);
+        };
+        for (int i = top - 4; i >= 0; i -= 4) {
+            double block = (c[i] + c[i + 1] * x) + x2 * (c[i + 2] + c[i + 3] * x);
+            result = block + x4 * result;
+        }
+        return result;
+    }
+
+    public static double estrinFma(double[] c, double x) {
+        final double x2 = x * x;
+        final double x4 = x2 * x2;
+        int top = (c.length - 1) & ~3;
+        double result = switch (c.length - top) {
+            case 1 -> c[top];
+            case 2 -> Math.fma(c[top + 1], x, c[top]);
+            case 3 -> Math.fma(c[top + 2], x2, Math.fma(c[top + 1], x, c[top]));
+            default -> Math.fma(Math.fma(c[top + 3], x, c[top + 2]), x2, Math.fma(c[top + 1], x, c[top]));
+        };
+        for (int i = top - 4; i >= 0; i -= 4) {
+            double block = Math.fma(Math.fma(c[i + 3], x, c[i + 2]), x2, Math.fma(c[i + 1], x, c[i]));
+            result = Math.fma(result, x4, block);
+        }
+        return result;
+    }
+
+    public static float estrin(float[] c, float x) {
+        final float x2 = x * x;
+        final float x4 = x2 * x2;
+        int top = (c.length - 1) & ~3;
+        float result = switch (c.length - top) {
+            case 1 -> c[top];
+            case 2 -> c[top] + c[top + 1] * x;
+            case 3 -> (c[top] + c[top + 1] * x) + c[top + 2] * x2;
+            default -> (c[top] + c[top + 1] * x) + x2 * (c[top + 2] + c[top + 3] * x);
+        };
+        for (int i = top - 4; i >= 0; i -= 4) {
+            float block = (c[i] + c[i + 1] * x) + x2 * (c[i + 2] + c[i + 3] * x);
+            result = block + x4 * result;
+        }
+        return result;
+    }
+
+    public static float estrinFma(float[] c, float x) {
+        final float x2 = x * x;
+        final float x4 = x2 * x2;
+        int top = (c.length - 1) & ~3;
+        float result = switch (c.length - top) {
+            case 1 -> c[top];
+            case 2 -> Math.fma(c[top + 1], x, c[top]);
+            case 3 -> Math.fma(c[top + 2], x2, Math.fma(c[top + 1], x, c[top]));
+            default -> Math.fma(Math.fma(c[top + 3], x, c[top + 2]), x2, Math.fma(c[top + 1], x, c[top]));
+        };
+        for (int i = top - 4; i >= 0; i -= 4) {
+            float block = Math.fma(Math.fma(c[i + 3], x, c[i + 2]), x2, Math.fma(c[i + 1], x, c[i]));
+            result = Math.fma(result, x4, block);
+        }
+        return result;
+    }
+
+    // ---- Even/odd split: E(x^2) + x*O(x^2), two independent Horner chains of half the length ----
+
+    public static double evenOdd(double[] c, double x) {
+        final double x2 = x * x;
+        int topEven = (c.length - 1) & ~1;
+        int topOdd = ((c.length - 2) | 1);
+
+        double even = c[topEven];
+        for (int i = topEven - 2; i >= 0; i -= 2) {
+            even = even * x2 + c[i];
+        }
+        if (topOdd < 1) {
+            return even;
+        }
+
+        double odd = c[topOdd];
+        for (int i = topOdd - 2; i >= 1; i -= 2) {
+            odd = odd * x2 + c[i];
+        }
+        return even + x * odd;
+    }
+
+    public static double evenOddFma(double[] c, double x) {
+        final double x2 = x * x;
+        int topEven = (c.length - 1) & ~1;
+        int topOdd = ((c.length - 2) | 1);
+
+        double even = c[topEven];
+        for (int i = topEven - 2; i >= 0; i -= 2) {
+            even = Math.fma(even, x2, c[i]);
+        }
+        if (topOdd < 1) {
+            return even;
+        }
+
+        double odd = c[topOdd];
+        for (int i = topOdd - 2; i >= 1; i -= 2) {
+            odd = Math.fma(odd, x2, c[i]);
+        }
+        return Math.fma(x, odd, even);
+    }
+
+    public static float evenOdd(float[] c, float x) {
+        final float x2 = x * x;
+        int topEven = (c.length - 1) & ~1;
+        int topOdd = ((c.length - 2) | 1);
+
+        float even = c[topEven];
+        for (int i = topEven - 2; i >= 0; i -= 2) {
+            even = even * x2 + c[i];
+        }
+        if (topOdd < 1) {
+            return even;
+        }
+
+        float odd = c[topOdd];
+        for (int i = topOdd - 2; i >= 1; i -= 2) {
+            odd = odd * x2 + c[i];
+        }
+        return even + x * odd;
+    }
+
+    public static float evenOddFma(float[] c, float x) {
+        final float x2 = x * x;
+        int topEven = (c.length - 1) & ~1;
+        int topOdd = ((c.length - 2) | 1);
+
+        float even = c[topEven];
+        for (int i = topEven - 2; i >= 0; i -= 2) {
+            even = Math.fma(even, x2, c[i]);
+        }
+        if (topOdd < 1) {
+            return even;
+        }
+
+        float odd = c[topOdd];
+        for (int i = topOdd - 2; i >= 1; i -= 2) {
+            odd = Math.fma(odd, x2, c[i]);
+        }
+        return Math.fma(x, odd, even);
+    }
+}
@@ -1,9 +1,17 @@
 package de.zonlykroks.algorithm.sin;
 
+import de.zonlykroks.AlgorithmParameter;
 import de.zonlykroks.ApproximationAlgorithm;
 import de.zonlykroks.ApproximationFunction;
+import de.zonlykroks.ParameterizedApproximationAlgorithm;
+import de.zonlykroks.algorithm.branchless.BranchFree;
+import de.zonlykroks.algorithm.polynomial.FloatUnaryOperator;
+import de.zonlykroks.algorithm.polynomial.Polynomial;
+import de.zonlykroks.specialize.KernelSpecializer;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.function.DoubleUnaryOperator;
 
 public class SinApproximationFunctions extends ApproximationFunction {
@@ -32,6 +40,23 @@ public class SinApproximationFunctions extends ApproximationFunction {
 
     private static final double CORDIC_K = 0.6072529350088812561694;
 
+    // sin(x) = x * P(x^2) on the reduced argument, coefficients in ascending powers of x^2
+    private static final Polynomial PIECEWISE_LOW_SEGMENT = Polynomial.of(
+            1.0f, -0.16666666f, 0.00833333f, -0.00019841f);
+    private static final Polynomial PIECEWISE_MID_SEGMENT = Polynomial.of(
+            1.0f, -0.16666667f, 0.00833333f, -0.00019841f, 0.00000276f);
+    private static final Polynomial PIECEWISE_HIGH_SEGMENT = Polynomial.of(
+            1.0f, -0.16666667f, 0.00833333f, -0.00019841f, 0.00000276f, -0.00000002f);
+
+    // The three segments as rows of one table, zero-padded at the high end, so the branchless variant can pick a
+    // segment by index. Leading zero coefficients leave Horner's rounding unchanged.
+    private static final int PIECEWISE_ROW_LENGTH = PIECEWISE_HIGH_SEGMENT.degree() + 1;
+    private static final float[] PIECEWISE_SEGMENT_TABLE = segmentTable(
+            PIECEWISE_LOW_SEGMENT, PIECEWISE_MID_SEGMENT, PIECEWISE_HIGH_SEGMENT);
+
+    private static final Polynomial CHEBYSHEV_POLYNOMIAL = Polynomial.of(
+            1.0, -1.0 / 6.0, 1.0 / 120.0, -1.0 / 5040.0, 1.0 / 362880.0);
+
     public SinApproximationFunctions() {
         super("Sin Approximations");
         initializeReferenceImplementations();
@@ -50,177 +75,444 @@ public class SinApproximationFunctions extends ApproximationFunction {
 
     @Override
     public List<ApproximationAlgorithm> getApproximationAlgorithms() {
-        return List.of(
-                new ApproximationAlgorithm("Piecewise 32-bit sine approximation") {
+        List<ApproximationAlgorithm> algorithms = new ArrayList<>(List.of(
+                piecewiseSine(Polynomial.Scheme.HORNER, false),
+
+                new ApproximationAlgorithm("CORDIC sine approximation") {
                     @Override
                     public DoubleUnaryOperator getFunction() {
-                        return x -> {
-                            final float TWO_PI = 6.28318530f;
-                            final float PI = 3.14159265f;
-                            final float HALF_PI = 1.57079632f;
+                        return x -> cordicSine(x, CORDIC_TABLE.length, CORDIC_K);
+                    }
 
-                            float xFloat = (float) x;
+                    @Override
+                    public String getName() {
+                        return "CORDIC sine approximation";
+                    }
+                },
 
-                            float recipTwoPI = 1.0f / TWO_PI;
-                            int n = (int)(xFloat * recipTwoPI + (xFloat >= 0 ? 0.5f : -0.5f));
-                            float xNormalized = xFloat - n * TWO_PI;
+                chebyshevSine(Polynomial.Scheme.HORNER, false),
 
-                            if (Math.abs(xNormalized) < 1e-5f) {
-                                return xNormalized;
-                            }
+                branchlessPiecewiseSine(),
 
-                            boolean negate = false;
-                            if (xNormalized < 0.0f) {
-                                xNormalized = -xNormalized;
-                                negate = true;
-                            }
+                new ApproximationAlgorithm("CORDIC sine approximation [branchless]") {
+                    @Override
+                    public DoubleUnaryOperator getFunction() {
+                        return x -> branchlessCordicSine(x, CORDIC_TABLE.length, CORDIC_K);
+                    }
+                }
+        ));
 
-                            if (xNormalized > PI) {
-                                xNormalized = TWO_PI - xNormalized;
-                                negate = !negate;
-                            }
+        for (Polynomial.Scheme scheme : Polynomial.Scheme.values()) {
+            for (boolean fma : new boolean[]{false, true}) {
+                if (scheme == Polynomial.Scheme.HORNER && !fma) {
+                    continue;
+                }
+                algorithms.add(piecewiseSine(scheme, fma));
+                algorithms.add(chebyshevSine(scheme, fma));
+            }
+        }
 
-                            if (xNormalized > HALF_PI) {
-                                xNormalized = PI - xNormalized;
-                            }
+        return algorithms;
+    }
 
-                            final float xSquared = xNormalized * xNormalized;
-
-                            float result;
-                            if (xNormalized < 0.5f) {
-                                result = xNormalized * (
-                                        1.0f - xSquared * (
-                                                0.16666666f - xSquared * (
-                                                        0.00833333f - xSquared * 0.00019841f
-                                                )
-                                        )
-                                );
-                            } else if (xNormalized < 1.3f) {
-                                result = xNormalized * (
-                                        1.0f - xSquared * (
-                                                0.16666667f - xSquared * (
-                                                        0.00833333f - xSquared * (
-                                                                0.00019841f - xSquared * 0.00000276f
-                                                        )
-                                                )
-                                        )
-                                );
-                            } else {
-                                result = xNormalized * (
-                                        1.0f - xSquared * (
-                                                0.16666667f - xSquared * (
-                                                        0.00833333f - xSquared * (
-                                                                0.00019841f - xSquared * (
-                                                                        0.00000276f - xSquared * 0.00000002f
-                                                                )
-                                                        )
-                                                )
-                                        )
-                                );
-                            }
+    @Override
+    public List<ParameterizedApproximationAlgorithm> getParameterizedAlgorithms() {
+        return List.of(
+                new ParameterizedApproximationAlgorithm("Taylor polynomial sine",
+                        AlgorithmParameter.of("degree", 3, 5, 7, 9, 11, 13),
+                        AlgorithmParameter.of("precision", 32, 64)) {
+                    @Override
+                    protected DoubleUnaryOperator createFunction(Map<String, Integer> values) {
+                        Polynomial polynomial = taylorSinePolynomial(values.get("degree"));
+
+                        if (values.get("precision") == 32) {
+                            final FloatUnaryOperator evaluator = KernelSpecializer.floatPolynomial(polynomial, false);
+                            return x -> {
+                                float reduced = reduceToHalfPi((float) x);
+                                return reduced * evaluator.applyAsFloat(reduced * reduced);
+                            };
+                        }
 
-                            return negate ? -result : result;
+                        final DoubleUnaryOperator evaluator = KernelSpecializer.polynomial(polynomial, false);
+                        return x -> {
+                            double reduced = reduceToHalfPi(x);
+                            return reduced * evaluator.applyAsDouble(reduced * reduced);
                         };
                     }
+                },
 
+                new ParameterizedApproximationAlgorithm("CORDIC sine",
+                        AlgorithmParameter.of("iterations", 4, 6, 8, 10, 12, 14, 16)) {
                     @Override
-                    public String getName() {
-                        return "Piecewise 32-bit sine approximation";
+                    protected DoubleUnaryOperator createFunction(Map<String, Integer> values) {
+                        final int iterations = values.get("iterations");
+                        final double gain = cordicGain(iterations);
+                        return x -> cordicSine(x, iterations, gain);
                     }
                 },
 
-                new ApproximationAlgorithm("CORDIC sine approximation") {
+                // Table sizes must be powers of two so the index wraps with a mask
+                new ParameterizedApproximationAlgorithm("Lookup table sine",
+                        AlgorithmParameter.of("tableSize", 64, 256, 1024, 4096, 16384),
+                        AlgorithmParameter.of("precision", 32, 64)) {
                     @Override
-                    public DoubleUnaryOperator getFunction() {
+                    protected DoubleUnaryOperator createFunction(Map<String, Integer> values) {
+                        final int size = values.get("tableSize");
+                        final int mask = size - 1;
+
+                        if (values.get("precision") == 32) {
+                            final float[] table = new float[size + 1];
+                            for (int i = 0; i <= size; i++) {
+                                table[i] = (float) Math.sin(MATH_TWO_PI * i / size);
+                            }
+                            final float scale = (float) (size / MATH_TWO_PI);
+                            return x -> {
+                                float t = (float) x * scale;
+                                t -= size * (float) Math.floor(t / size);
+                                int i = (int) t;
+                                float fraction = t - i;
+                                int index = i & mask;
+                                return table[index] + fraction * (table[index + 1] - table[index]);
+                            };
+                        }
+
+                        final double[] table = new double[size + 1];
+                        for (int i = 0; i <= size; i++) {
+                            table[i] = Math.sin(MATH_TWO_PI * i / size);
+                        }
+                        final double scale = size / MATH_TWO_PI;
                         return x -> {
-                            double angle = x;
+                            double t = x * scale;
+                            t -= size * Math.floor(t / size);
+                            int i = (int) t;
+                            double fraction = t - i;
+                            int index = i & mask;
+                            return table[index] + fraction * (table[index + 1] - table[index]);
+                        };
+                    }
+                }
+        );
+    }
 
-                            if (Math.abs(angle - MATH_PI) < 1e-14 || Math.abs(angle + MATH_PI) < 1e-14) {
-                                return 0.0;
-                            }
+    private static Polynomial taylorSinePolynomial(int degree) {
+        double[] coefficients = new double[(degree + 1) / 2];
+        double factorial = 1.0;
+        for (int k = 0; k < coefficients.length; k++) {
+            if (k > 0) {
+                factorial *= (2.0 * k) * (2.0 * k + 1);
+            }
+            coefficients[k] = (k % 2 == 0 ? 1.0 : -1.0) / factorial;
+        }
+        return Polynomial.of(coefficients);
+    }
 
-                            angle = angle % MATH_TWO_PI;
+    private static double cordicGain(int iterations) {
+        double gain = 1.0;
+        for (int i = 0; i < iterations; i++) {
+            gain /= Math.sqrt(1.0 + Math.pow(2.0, -2.0 * i));
+        }
+        return gain;
+    }
 
-                            if (angle > MATH_PI) {
-                                angle -= MATH_TWO_PI;
-                            } else if (angle < -MATH_PI) {
-                                angle += MATH_TWO_PI;
-                            }
+    private static double reduceToHalfPi(double x) {
+        double reduced = x % MATH_TWO_PI;
+        if (reduced > MATH_PI) {
+            reduced -= MATH_TWO_PI;
+        } else if (reduced < -MATH_PI) {
+            reduced += MATH_TWO_PI;
+        }
+
+        if (reduced > MATH_HALF_PI) {
+            reduced = MATH_PI - reduced;
+        } else if (reduced < -MATH_HALF_PI) {
+            reduced = -MATH_PI - reduced;
+        }
+        return reduced;
+    }
 
-                            int quadrant;
-                            if (angle >= 0 && angle <= MATH_HALF_PI) {
-                                quadrant = 1;
-                            } else if (angle > MATH_HALF_PI && angle <= MATH_PI) {
-                                quadrant = 2;
-                                angle = MATH_PI - angle;
-                            } else if (angle >= -MATH_PI && angle < -MATH_HALF_PI) {
-                                quadrant = 3;
-                                angle = -MATH_PI - angle;
-                            } else {
-                                quadrant = 4;
-                                angle = -angle;
-                            }
+    private static float reduceToHalfPi(float x) {
+        final float TWO_PI = 6.28318530f;
+        final float PI = 3.14159265f;
+        final float HALF_PI = 1.57079632f;
+
+        float reduced = x % TWO_PI;
+        if (reduced > PI) {
+            reduced -= TWO_PI;
+        } else if (reduced < -PI) {
+            reduced += TWO_PI;
+        }
+
+        if (reduced > HALF_PI) {
+            reduced = PI - reduced;
+        } else if (reduced < -HALF_PI) {
+            reduced = -PI - reduced;
+        }
+        return reduced;
+    }
 
-                            double x0 = 1.0;
-                            double y0 = 0.0;
-                            double z = angle;
+    private static String variantName(String baseName, Polynomial.Scheme scheme, boolean fma) {
+        if (scheme == Polynomial.Scheme.HORNER && !fma) {
+            return baseName;
+        }
+        return baseName + " [" + scheme.getDisplayName() + (fma ? ", FMA" : "") + "]";
+    }
 
-                            for (int i = 0; i < CORDIC_TABLE.length; i++) {
-                                int sign = (z >= 0) ? 1 : -1;
+    /**
+     * Horner evaluation has a constant-folded form in {@link KernelSpecializer}; the other schemes read the
+     * coefficient array. Both round identically.
+     */
+    private static DoubleUnaryOperator evaluator(Polynomial polynomial, Polynomial.Scheme scheme, boolean fma) {
+        return scheme == Polynomial.Scheme.HORNER
+                ? KernelSpecializer.polynomial(polynomial, fma)
+                : polynomial.evaluator(scheme, fma);
+    }
 
-                                double x_temp = x0;
-                                double y_temp = y0;
+    private static FloatUnaryOperator floatEvaluator(Polynomial polynomial, Polynomial.Scheme scheme, boolean fma) {
+        return scheme == Polynomial.Scheme.HORNER
+                ? KernelSpecializer.floatPolynomial(polynomial, fma)
+                : polynomial.floatEvaluator(scheme, fma);
+    }
 
-                                double power = 1.0 / (1 << i);
-                                x0 = x_temp - sign * y_temp * power;
-                                y0 = y_temp + sign * x_temp * power;
+    private static ApproximationAlgorithm piecewiseSine(Polynomial.Scheme scheme, boolean fma) {
+        final FloatUnaryOperator lowSegment = floatEvaluator(PIECEWISE_LOW_SEGMENT, scheme, fma);
+        final FloatUnaryOperator midSegment = floatEvaluator(PIECEWISE_MID_SEGMENT, scheme, fma);
+        final FloatUnaryOperator highSegment = floatEvaluator(PIECEWISE_HIGH_SEGMENT, scheme, fma);
 
-                                z = z - sign * CORDIC_TABLE[i];
-                            }
+        return new ApproximationAlgorithm(variantName("Piecewise 32-bit sine approximation", scheme, fma)) {
+            @Override
+            public DoubleUnaryOperator getFunction() {
+                return x -> {
+                    final float TWO_PI = 6.28318530f;
+                    final float PI = 3.14159265f;
+                    final float HALF_PI = 1.57079632f;
 
-                            y0 *= CORDIC_K;
+                    float xFloat = (float) x;
 
-                            return switch (quadrant) {
-                                case 1, 2, 3 -> y0;
-                                case 4 -> -y0;
-                                default -> 0.0;
-                            };
-                        };
+                    float recipTwoPI = 1.0f / TWO_PI;
+                    int n = (int)(xFloat * recipTwoPI + (xFloat >= 0 ? 0.5f : -0.5f));
+                    float xNormalized = xFloat - n * TWO_PI;
+
+                    if (Math.abs(xNormalized) < 1e-5f) {
+                        return xNormalized;
                     }
 
-                    @Override
-                    public String getName() {
-                        return "CORDIC sine approximation";
+                    boolean negate = false;
+                    if (xNormalized < 0.0f) {
+                        xNormalized = -xNormalized;
+                        negate = true;
                     }
-                },
 
-                new ApproximationAlgorithm("Chebyshev polynomial sine approximation") {
-                    @Override
-                    public DoubleUnaryOperator getFunction() {
-                        return x -> {
-                            if (Math.abs(x - MATH_PI) < 1e-14 || Math.abs(x + MATH_PI) < 1e-14) {
-                                return 0.0;
-                            }
+                    if (xNormalized > PI) {
+                        xNormalized = TWO_PI - xNormalized;
+                        negate = !negate;
+                    }
 
-                            double xNormalized = x % MATH_TWO_PI;
-                            if (xNormalized > MATH_PI) {
-                                xNormalized -= MATH_TWO_PI;
-                            } else if (xNormalized < -MATH_PI) {
-                                xNormalized += MATH_TWO_PI;
-                            }
+                    if (xNormalized > HALF_PI) {
+                        xNormalized = PI - xNormalized;
+                    }
 
-                            double x2 = xNormalized * xNormalized;
+                    final float xSquared = xNormalized * xNormalized;
 
-                            return xNormalized * (1.0 - x2 * (1.0/6.0 - x2 * (1.0/120.0 - x2 * (1.0/5040.0 - x2/362880.0))));
-                        };
+                    float result;
+                    if (xNormalized < 0.5f) {
+                        result = xNormalized * lowSegment.applyAsFloat(xSquared);
+                    } else if (xNormalized < 1.3f) {
+                        result = xNormalized * midSegment.applyAsFloat(xSquared);
+                    } else {
+                        result = xNormalized * highSegment.applyAsFloat(xSquared);
                     }
 
-                    @Override
-                    public String getName() {
-                        return "Chebyshev polynomial sine approximation";
+                    return negate ? -result : result;
+                };
+            }
+        };
+    }
+
+    /**
+     * {@link #piecewiseSine} (Horner, no FMA) without data-dependent branches. Bit-identical for finite inputs.
+     */
+    private static ApproximationAlgorithm branchlessPiecewiseSine() {
+        return new ApproximationAlgorithm("Piecewise 32-bit sine approximation [branchless]") {
+            @Override
+            public DoubleUnaryOperator getFunction() {
+                return x -> {
+                    final float TWO_PI = 6.28318530f;
+                    final float PI = 3.14159265f;
+                    final float HALF_PI = 1.57079632f;
+                    final float[] c = PIECEWISE_SEGMENT_TABLE;
+
+                    float xFloat = (float) x;
+
+                    float recipTwoPI = 1.0f / TWO_PI;
+                    int n = (int) (xFloat * recipTwoPI + Math.copySign(0.5f, xFloat));
+                    float xNormalized = xFloat - n * TWO_PI;
+
+                    // No |x| < 1e-5 shortcut needed: the polynomial rounds to exactly 1.0f there, so x * P(x^2) == x
+                    int sign = BranchFree.signBit(xNormalized);
+                    float reduced = Math.abs(xNormalized);
+
+                    int overPi = BranchFree.lessThanMask(PI, reduced);
+                    reduced = BranchFree.select(overPi, TWO_PI - reduced, reduced);
+                    sign ^= overPi & BranchFree.FLOAT_SIGN_BIT;
+
+                    reduced = BranchFree.select(BranchFree.lessThanMask(HALF_PI, reduced), PI - reduced, reduced);
+
+                    final float xSquared = reduced * reduced;
+                    int row = (BranchFree.atLeast(reduced, 0.5f) + BranchFree.atLeast(reduced, 1.3f))
+                            * PIECEWISE_ROW_LENGTH;
+
+                    float result = c[row + PIECEWISE_ROW_LENGTH - 1];
+                    for (int i = PIECEWISE_ROW_LENGTH - 2; i >= 0; i--) {
+                        result = result * xSquared + c[row + i];
                     }
-                }
-        );
+
+                    return BranchFree.flipSign(reduced * result, sign);
+                };
+            }
+        };
+    }
+
+    private static float[] segmentTable(Polynomial... segments) {
+        int rowLength = 0;
+        for (Polynomial segment : segments) {
+            rowLength = Math.max(rowLength, segment.degree() + 1);
+        }
+
+        float[] table = new float[segments.length * rowLength];
+        for (int row = 0; row < segments.length; row++) {
+            double[] coefficients = segments[row].getCoefficients();
+            for (int i = 0; i < coefficients.length; i++) {
+                table[row * rowLength + i] = (float) coefficients[i];
+            }
+        }
+        return table;
+    }
+
+    private static double cordicSine(double x, int iterations, double gain) {
+        double angle = x;
+
+        if (Math.abs(angle - MATH_PI) < 1e-14 || Math.abs(angle + MATH_PI) < 1e-14) {
+            return 0.0;
+        }
+
+        angle = angle % MATH_TWO_PI;
+
+        if (angle > MATH_PI) {
+            angle -= MATH_TWO_PI;
+        } else if (angle < -MATH_PI) {
+            angle += MATH_TWO_PI;
+        }
+
+        int quadrant;
+        if (angle >= 0 && angle <= MATH_HALF_PI) {
+            quadrant = 1;
+        } else if (angle > MATH_HALF_PI && angle <= MATH_PI) {
+            quadrant = 2;
+            angle = MATH_PI - angle;
+        } else if (angle >= -MATH_PI && angle < -MATH_HALF_PI) {
+            quadrant = 3;
+            angle = -MATH_PI - angle;
+        } else {
+            quadrant = 4;
+            angle = -angle;
+        }
+
+        double x0 = 1.0;
+        double y0 = 0.0;
+        double z = angle;
+
+        for (int i = 0; i < iterations; i++) {
+            int sign = (z >= 0) ? 1 : -1;
+
+            double x_temp = x0;
+            double y_temp = y0;
+
+            double power = 1.0 / (1 << i);
+            x0 = x_temp - sign * y_temp * power;
+            y0 = y_temp + sign * x_temp * power;
+
+            z = z - sign * CORDIC_TABLE[i];
+        }
+
+        y0 *= gain;
+
+        return switch (quadrant) {
+            case 1, 2, 3 -> y0;
+            case 4 -> -y0;
+            default -> 0.0;
+        };
+    }
+
+    /**
+     * {@link #cordicSine} with the quadrant handling and the per-iteration rotation direction done with sign-bit
+     * arithmetic. Bit-identical for finite inputs.
+     */
+    private static double branchlessCordicSine(double x, int iterations, double gain) {
+        long exactZero = BranchFree.lessThanMask(Math.abs(Math.abs(x) - MATH_PI), 1e-14);
+
+        double angle = x % MATH_TWO_PI;
+        angle -= BranchFree.select(BranchFree.lessThanMask(MATH_PI, angle), MATH_TWO_PI, 0.0);
+        // -0.0 as the neutral value, since -0.0 + 0.0 would lose the sign
+        angle += BranchFree.select(BranchFree.lessThanMask(angle, -MATH_PI), MATH_TWO_PI, -0.0);
+
+        // Rotate by |angle| folded into [0, pi/2] and put the sign back at the end
+        long sign = BranchFree.signBit(angle);
+        double z = Math.abs(angle);
+        z = BranchFree.select(BranchFree.lessThanMask(MATH_HALF_PI, z), MATH_PI - z, z);
+        // cordicSine rotates by +0.0 for reduced angles of -0.0 and exactly -pi and keeps the positive result
+        sign &= BranchFree.lessThanMask(0.0, z);
+
+        double x0 = 1.0;
+        double y0 = 0.0;
+
+        for (int i = 0; i < iterations; i++) {
+            // +1 for z >= 0 and -1 otherwise, like cordicSine; adding 0.0 turns -0.0 into +0.0
+            double direction = Math.copySign(1.0, z + 0.0);
+
+            double x_temp = x0;
+            double y_temp = y0;
+
+            double power = 1.0 / (1 << i);
+            x0 = x_temp - direction * y_temp * power;
+            y0 = y_temp + direction * x_temp * power;
+
+            z = z - direction * CORDIC_TABLE[i];
+        }
+
+        double result = BranchFree.flipSign(y0 * gain, sign);
+        return BranchFree.select(exactZero, 0.0, result);
+    }
+
+    private static ApproximationAlgorithm chebyshevSine(Polynomial.Scheme scheme, boolean fma) {
+        final DoubleUnaryOperator polynomial = scheme == Polynomial.Scheme.HORNER && !fma
+                ? SinApproximationFunctions::chebyshevNested
+                : evaluator(CHEBYSHEV_POLYNOMIAL, scheme, fma);
+
+        return new ApproximationAlgorithm(variantName("Chebyshev polynomial sine approximation", scheme, fma)) {
+            @Override
+            public DoubleUnaryOperator getFunction() {
+                return x -> {
+                    if (Math.abs(x - MATH_PI) < 1e-14 || Math.abs(x + MATH_PI) < 1e-14) {
+                        return 0.0;
+                    }
+
+                    double xNormalized = x % MATH_TWO_PI;
+                    if (xNormalized > MATH_PI) {
+                        xNormalized -= MATH_TWO_PI;
+                    } else if (xNormalized < -MATH_PI) {
+                        xNormalized += MATH_TWO_PI;
+                    }
+
+                    return xNormalized * polynomial.applyAsDouble(xNormalized * xNormalized);
+                };
+            }
+        };
+    }
+
+    // The original algorithm's expression, kept for the plain Horner variant: dividing by 9! rounds differently
+    // from multiplying by the rounded 1/9! in CHEBYSHEV_POLYNOMIAL
+    private static double chebyshevNested(double x2) {
+        return 1.0 - x2 * (1.0 / 6.0 - x2 * (1.0 / 120.0 - x2 * (1.0 / 5040.0 - x2 / 362880.0)));
     }
 
     @Override
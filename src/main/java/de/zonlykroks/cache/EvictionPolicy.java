@@ -0,0 +1,6 @@
+package de.zonlykroks.cache;
+
+public enum EvictionPolicy {
+    CLOCK,
+    LRU
+}
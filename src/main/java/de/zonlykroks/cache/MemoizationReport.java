@@ -0,0 +1,96 @@
+package de.zonlykroks.cache;
+
+import java.text.DecimalFormat;
+import java.util.Random;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Compares a function against a {@link QuantizedCache} around it on the same input sequence: hit rate, the extra
+ * error introduced by quantizing the inputs, and the net throughput of both.
+ */
+public final class MemoizationReport {
+    private static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("#.########");
+
+    private MemoizationReport() {
+    }
+
+    public record Result(String name, int capacity, double hitRate, long evictions, long bypasses,
+                         double maxQuantizationError,
+                         double meanQuantizationError, double uncachedNanosPerOperation,
+                         double cachedNanosPerOperation, double checksum) {
+        public double speedup() {
+            return uncachedNanosPerOperation / cachedNanosPerOperation;
+        }
+    }
+
+    /**
+     * A sequence of {@code length} inputs drawn at random from {@code distinctValues} fixed values in
+     * {@code [start, end)}, modelling callers that evaluate the same arguments over and over.
+     */
+    public static double[] repeatedInputs(double start, double end, int distinctValues, int length, long seed) {
+        Random random = new Random(seed);
+        double[] pool = new double[distinctValues];
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = start + random.nextDouble() * (end - start);
+        }
+
+        double[] inputs = new double[length];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = pool[random.nextInt(pool.length)];
+        }
+        return inputs;
+    }
+
+    public static Result measure(String name, DoubleUnaryOperator function, double quantum, int capacity,
+                                 EvictionPolicy policy, double[] inputs, int iterations) {
+        double maxQuantizationError = 0.0;
+        double totalQuantizationError = 0.0;
+        QuantizedCache probe = new QuantizedCache(function, quantum, capacity, policy);
+        for (double x : inputs) {
+            double error = Math.abs(probe.evaluateQuantized(x) - function.applyAsDouble(x));
+            totalQuantizationError += error;
+            maxQuantizationError = Math.max(maxQuantizationError, error);
+        }
+
+        runLoop(function, inputs, iterations);
+        long startTime = System.nanoTime();
+        double uncachedSum = runLoop(function, inputs, iterations);
+        long uncachedTime = System.nanoTime() - startTime;
+
+        // Warm up the cache code on a throwaway instance so the measured cache starts empty but compiled
+        runLoop(new QuantizedCache(function, quantum, capacity, policy), inputs, iterations);
+        QuantizedCache cache = new QuantizedCache(function, quantum, capacity, policy);
+        startTime = System.nanoTime();
+        double cachedSum = runLoop(cache, inputs, iterations);
+        long cachedTime = System.nanoTime() - startTime;
+
+        return new Result(name, cache.capacity(), cache.hitRate(), cache.getEvictions(), cache.getBypasses(),
+                maxQuantizationError, totalQuantizationError / inputs.length,
+                (double) uncachedTime / iterations, (double) cachedTime / iterations, uncachedSum + cachedSum);
+    }
+
+    public static void print(Result result) {
+        System.out.println("\nTesting: " + result.name());
+        System.out.println("-------------------------------------");
+        System.out.println("Cache slots: " + result.capacity());
+        System.out.println("Hit rate: " + DECIMAL_FORMAT.format(result.hitRate() * 100) + "%");
+        System.out.println("Evictions: " + result.evictions());
+        if (result.bypasses() > 0) {
+            System.out.println("Bypassed (no cache key): " + result.bypasses());
+        }
+        System.out.println("Quantization error (max): " + DECIMAL_FORMAT.format(result.maxQuantizationError()));
+        System.out.println("Quantization error (avg): " + DECIMAL_FORMAT.format(result.meanQuantizationError()));
+        System.out.println("Uncached: " + DECIMAL_FORMAT.format(result.uncachedNanosPerOperation()) + " ns/op");
+        System.out.println("Cached: " + DECIMAL_FORMAT.format(result.cachedNanosPerOperation()) + " ns/op");
+        System.out.println("Net speedup: " + DECIMAL_FORMAT.format(result.speedup()) + "x");
+        System.out.println("Dummy sum: " + result.checksum() + " (prevents optimization)");
+    }
+
+    private static double runLoop(DoubleUnaryOperator function, double[] inputs, int iterations) {
+        double sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            sum += function.applyAsDouble(inputs[i % inputs.length]);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,227 @@
+package de.zonlykroks.cache;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Memoizes a {@link DoubleUnaryOperator} in a fixed-size open-addressing table keyed by primitive longs, so neither
+ * lookups nor inserts box or allocate.
+ * <p>
+ * Inputs are snapped to the nearest multiple of {@code quantum} and the function is evaluated at that grid point,
+ * so every input that maps to the same key gets the same cached value. A quantum of {@code 0} disables quantization
+ * and keys on the exact bit pattern. Inputs without a usable key, non-finite ones and those so far from zero that
+ * {@code x / quantum} no longer fits a long, bypass the cache and are passed to the function unchanged.
+ * <p>
+ * Each key may only live in the {@value #PROBE_WINDOW} slots following its home slot. When that window is full, one
+ * of its entries is evicted with the configured {@link EvictionPolicy}. CLOCK keeps one hand per window, i.e. per
+ * home slot, stored as an offset into that window since no entry may leave its own window. The hand persists
+ * between evictions in its window and advances past referenced entries, clearing their bits, until it reaches an
+ * unreferenced one; evictions in other windows never move it. LRU evicts the entry with the
+ * oldest access tick. Entries are never removed otherwise, so a lookup may stop at the first empty slot. Not
+ * thread-safe.
+ */
+public final class QuantizedCache implements DoubleUnaryOperator {
+    static final int PROBE_WINDOW = 8;
+
+    // 2^62: well inside the range Math.round can return without saturating
+    private static final double MAX_QUANTIZED_KEY = 0x1.0p62;
+
+    private static final byte EMPTY = 0;
+    private static final byte OCCUPIED = 1;
+    private static final byte REFERENCED = 2;
+
+    private final DoubleUnaryOperator function;
+    private final double quantum;
+    private final EvictionPolicy policy;
+    private final int mask;
+    private final int shift;
+
+    private final long[] keys;
+    private final double[] values;
+    private final byte[] states;
+    private final long[] lastAccess;
+    // CLOCK only: hand offset of the window that starts at each home slot
+    private final byte[] hands;
+
+    private long tick;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long bypasses;
+
+    public QuantizedCache(DoubleUnaryOperator function, double quantum, int capacity, EvictionPolicy policy) {
+        if (quantum < 0.0 || Double.isNaN(quantum) || Double.isInfinite(quantum)) {
+            throw new IllegalArgumentException("Quantum must be a finite value >= 0: " + quantum);
+        }
+        if (capacity < PROBE_WINDOW) {
+            throw new IllegalArgumentException("Capacity must be at least " + PROBE_WINDOW + ": " + capacity);
+        }
+
+        int tableSize = Integer.highestOneBit(capacity - 1) << 1;
+        if (tableSize <= 0) {
+            throw new IllegalArgumentException("Capacity too large: " + capacity);
+        }
+
+        this.function = function;
+        this.quantum = quantum;
+        this.policy = policy;
+        this.mask = tableSize - 1;
+        this.shift = 64 - Integer.numberOfTrailingZeros(tableSize);
+        this.keys = new long[tableSize];
+        this.values = new double[tableSize];
+        this.states = new byte[tableSize];
+        this.lastAccess = policy == EvictionPolicy.LRU ? new long[tableSize] : null;
+        this.hands = policy == EvictionPolicy.CLOCK ? new byte[tableSize] : null;
+    }
+
+    @Override
+    public double applyAsDouble(double x) {
+        if (bypasses(x)) {
+            bypasses++;
+            return function.applyAsDouble(x);
+        }
+
+        final long key = key(x);
+        final int home = home(key);
+
+        for (int probe = 0; probe < PROBE_WINDOW; probe++) {
+            int slot = (home + probe) & mask;
+            byte state = states[slot];
+            if (state == EMPTY) {
+                return insert(slot, key, x);
+            }
+            if (keys[slot] == key) {
+                hits++;
+                touch(slot);
+                return values[slot];
+            }
+        }
+
+        evictions++;
+        return insert(selectVictim(home), key, x);
+    }
+
+    /**
+     * The value this cache returns for {@code x} on a hit, computed without touching the cache.
+     */
+    public double evaluateQuantized(double x) {
+        return function.applyAsDouble(quantize(x));
+    }
+
+    public double quantize(double x) {
+        return quantum == 0.0 || bypasses(x) ? x : Math.round(x / quantum) * quantum;
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Calls that went straight to the function because their input has no cache key. They are neither hits nor
+     * misses.
+     */
+    public long getBypasses() {
+        return bypasses;
+    }
+
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    private boolean bypasses(double x) {
+        if (!Double.isFinite(x)) {
+            return true;
+        }
+        // Also true when x / quantum overflows to infinity
+        return quantum != 0.0 && !(Math.abs(x / quantum) < MAX_QUANTIZED_KEY);
+    }
+
+    private long key(double x) {
+        return quantum == 0.0 ? Double.doubleToLongBits(x) : Math.round(x / quantum);
+    }
+
+    private int home(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    // Package-private for tests: the home slot of x's window, and whether x is cached, without touching any state
+    int homeSlot(double x) {
+        return home(key(x));
+    }
+
+    boolean contains(double x) {
+        if (bypasses(x)) {
+            return false;
+        }
+        long key = key(x);
+        int home = home(key);
+        for (int probe = 0; probe < PROBE_WINDOW; probe++) {
+            int slot = (home + probe) & mask;
+            if (states[slot] == EMPTY) {
+                return false;
+            }
+            if (keys[slot] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private double insert(int slot, long key, double x) {
+        misses++;
+        double value = function.applyAsDouble(quantize(x));
+        keys[slot] = key;
+        values[slot] = value;
+        states[slot] = OCCUPIED;
+        touch(slot);
+        return value;
+    }
+
+    private void touch(int slot) {
+        if (policy == EvictionPolicy.LRU) {
+            lastAccess[slot] = ++tick;
+        } else {
+            states[slot] = REFERENCED;
+        }
+    }
+
+    private int selectVictim(int home) {
+        if (policy == EvictionPolicy.LRU) {
+            int victim = home & mask;
+            for (int probe = 1; probe < PROBE_WINDOW; probe++) {
+                int slot = (home + probe) & mask;
+                if (lastAccess[slot] < lastAccess[victim]) {
+                    victim = slot;
+                }
+            }
+            return victim;
+        }
+
+        // At most two sweeps: the first clears every reference bit it passes
+        int hand = hands[home];
+        for (int probe = 0; probe < 2 * PROBE_WINDOW; probe++) {
+            int slot = (home + hand) & mask;
+            hand = (hand + 1) % PROBE_WINDOW;
+            if (states[slot] == REFERENCED) {
+                states[slot] = OCCUPIED;
+            } else {
+                hands[home] = (byte) hand;
+                return slot;
+            }
+        }
+        hands[home] = (byte) hand;
+        return home & mask;
+    }
+}
@@ -0,0 +1,128 @@
+package de.zonlykroks.export;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A single column of little-endian doubles in a memory-mapped file.
+ * <p>
+ * File layout (all little-endian):
+ * <pre>
+ * offset  0  8 bytes  magic "GNOMCOL1"
+ * offset  8  int      header size in bytes (32)
+ * offset 12  int      element size in bytes (8, IEEE 754 binary64)
+ * offset 16  long     element count
+ * offset 24  8 bytes  reserved
+ * offset 32  count * 8 bytes of data
+ * </pre>
+ * The whole file is mapped at once, so columns larger than 2 GiB need no windowing and the heap footprint is
+ * independent of the column length. The mapping is released deterministically on {@link #close()}.
+ */
+public final class MappedColumn implements AutoCloseable {
+    public static final long HEADER_BYTES = 32;
+    public static final String FILE_EXTENSION = ".f64";
+
+    private static final byte[] MAGIC = "GNOMCOL1".getBytes(StandardCharsets.US_ASCII);
+    private static final ValueLayout.OfDouble ELEMENT = ValueLayout.JAVA_DOUBLE.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfInt HEADER_INT = ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong HEADER_LONG = ValueLayout.JAVA_LONG.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final Arena arena;
+    private final MemorySegment segment;
+    private final long count;
+    private final boolean writable;
+
+    private MappedColumn(Arena arena, MemorySegment segment, long count, boolean writable) {
+        this.arena = arena;
+        this.segment = segment;
+        this.count = count;
+        this.writable = writable;
+    }
+
+    public static MappedColumn create(Path file, long count) throws IOException {
+        if (count < 0) {
+            throw new IllegalArgumentException("Column length must not be negative: " + count);
+        }
+
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_BYTES + count * ELEMENT.byteSize(), arena);
+
+            MemorySegment.copy(MAGIC, 0, segment, ValueLayout.JAVA_BYTE, 0, MAGIC.length);
+            segment.set(HEADER_INT, 8, (int) HEADER_BYTES);
+            segment.set(HEADER_INT, 12, (int) ELEMENT.byteSize());
+            segment.set(HEADER_LONG, 16, count);
+            segment.set(HEADER_LONG, 24, 0L);
+
+            return new MappedColumn(arena, segment, count, true);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    public static MappedColumn open(Path file) throws IOException {
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Not a column file, too short: " + file);
+            }
+
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            for (int i = 0; i < MAGIC.length; i++) {
+                if (segment.get(ValueLayout.JAVA_BYTE, i) != MAGIC[i]) {
+                    throw new IOException("Not a column file, bad magic: " + file);
+                }
+            }
+
+            int headerBytes = segment.get(HEADER_INT, 8);
+            int elementBytes = segment.get(HEADER_INT, 12);
+            long count = segment.get(HEADER_LONG, 16);
+            if (headerBytes != HEADER_BYTES || elementBytes != ELEMENT.byteSize()
+                    || channel.size() < HEADER_BYTES + count * elementBytes) {
+                throw new IOException("Unsupported or truncated column file: " + file);
+            }
+
+            return new MappedColumn(arena, segment, count, false);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    public long size() {
+        return count;
+    }
+
+    public double get(long index) {
+        return segment.get(ELEMENT, HEADER_BYTES + index * ELEMENT.byteSize());
+    }
+
+    public void set(long index, double value) {
+        segment.set(ELEMENT, HEADER_BYTES + index * ELEMENT.byteSize(), value);
+    }
+
+    /**
+     * Zero-copy view of the column data, {@link #size()} little-endian doubles. Only valid until {@link #close()}.
+     */
+    public MemorySegment data() {
+        return segment.asSlice(HEADER_BYTES, count * ELEMENT.byteSize());
+    }
+
+    @Override
+    public void close() {
+        if (writable) {
+            segment.force();
+        }
+        arena.close();
+    }
+}
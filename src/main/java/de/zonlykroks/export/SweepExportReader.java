@@ -0,0 +1,137 @@
+package de.zonlykroks.export;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Maps a directory written by {@link SweepExportWriter} for zero-copy reading.
+ */
+public final class SweepExportReader implements AutoCloseable {
+    private final String functionName;
+    private final String referenceName;
+    private final double start;
+    private final double end;
+    private final MappedColumn inputs;
+    private final MappedColumn references;
+    private final Map<String, MappedColumn> values;
+    private final Map<String, MappedColumn> errors;
+
+    private SweepExportReader(Properties manifest, MappedColumn inputs, MappedColumn references,
+                              Map<String, MappedColumn> values, Map<String, MappedColumn> errors) {
+        this.functionName = manifest.getProperty("function");
+        this.referenceName = manifest.getProperty("reference");
+        this.start = Double.parseDouble(manifest.getProperty("start"));
+        this.end = Double.parseDouble(manifest.getProperty("end"));
+        this.inputs = inputs;
+        this.references = references;
+        this.values = values;
+        this.errors = errors;
+    }
+
+    public static SweepExportReader open(Path directory) throws IOException {
+        Properties manifest = new Properties();
+        try (Reader reader = Files.newBufferedReader(directory.resolve(SweepExportWriter.MANIFEST_FILE),
+                StandardCharsets.UTF_8)) {
+            manifest.load(reader);
+        }
+        if (!SweepExportWriter.FORMAT.equals(manifest.getProperty("format"))) {
+            throw new IOException("Unsupported sweep export format: " + manifest.getProperty("format"));
+        }
+
+        List<MappedColumn> opened = new ArrayList<>();
+        try {
+            MappedColumn inputs = openColumn(directory, manifest, "column." + SweepExportWriter.INPUT_COLUMN, opened);
+            MappedColumn references = openColumn(directory, manifest,
+                    "column." + SweepExportWriter.REFERENCE_COLUMN, opened);
+
+            Map<String, MappedColumn> values = new LinkedHashMap<>();
+            Map<String, MappedColumn> errors = new LinkedHashMap<>();
+            int approximations = Integer.parseInt(manifest.getProperty("approximations"));
+            for (int i = 0; i < approximations; i++) {
+                String name = manifest.getProperty("approximation." + i + ".name");
+                values.put(name, openColumn(directory, manifest, "approximation." + i + ".values", opened));
+                errors.put(name, openColumn(directory, manifest, "approximation." + i + ".errors", opened));
+            }
+
+            return new SweepExportReader(manifest, inputs, references, values, errors);
+        } catch (IOException | RuntimeException e) {
+            opened.forEach(MappedColumn::close);
+            throw e;
+        }
+    }
+
+    private static MappedColumn openColumn(Path directory, Properties manifest, String key, List<MappedColumn> opened)
+            throws IOException {
+        String file = manifest.getProperty(key);
+        if (file == null) {
+            throw new IOException("Sweep manifest is missing " + key);
+        }
+        MappedColumn column = MappedColumn.open(directory.resolve(file));
+        opened.add(column);
+        return column;
+    }
+
+    public String getFunctionName() {
+        return functionName;
+    }
+
+    public String getReferenceName() {
+        return referenceName;
+    }
+
+    public double getStart() {
+        return start;
+    }
+
+    public double getEnd() {
+        return end;
+    }
+
+    public long size() {
+        return inputs.size();
+    }
+
+    public List<String> getApproximationNames() {
+        return List.copyOf(values.keySet());
+    }
+
+    public MappedColumn inputs() {
+        return inputs;
+    }
+
+    public MappedColumn references() {
+        return references;
+    }
+
+    public MappedColumn values(String approximationName) {
+        return column(values, approximationName);
+    }
+
+    public MappedColumn errors(String approximationName) {
+        return column(errors, approximationName);
+    }
+
+    private static MappedColumn column(Map<String, MappedColumn> columns, String approximationName) {
+        MappedColumn column = columns.get(approximationName);
+        if (column == null) {
+            throw new IllegalArgumentException("Approximation not in sweep export: " + approximationName);
+        }
+        return column;
+    }
+
+    @Override
+    public void close() {
+        inputs.close();
+        references.close();
+        values.values().forEach(MappedColumn::close);
+        errors.values().forEach(MappedColumn::close);
+    }
+}
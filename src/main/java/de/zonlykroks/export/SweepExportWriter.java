@@ -0,0 +1,125 @@
+package de.zonlykroks.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Streams the per-point data of an accuracy sweep into a directory of {@link MappedColumn} files: the inputs, the
+ * reference values and, for every approximation, its outputs and absolute errors. A {@value #MANIFEST_FILE} file
+ * describes the sweep and maps approximation names to column files.
+ */
+public final class SweepExportWriter implements AutoCloseable {
+    public static final String MANIFEST_FILE = "sweep.properties";
+
+    static final String FORMAT = "GNOMCOL1";
+    static final String INPUT_COLUMN = "x";
+    static final String REFERENCE_COLUMN = "reference";
+
+    private final MappedColumn inputs;
+    private final MappedColumn references;
+    private final MappedColumn[] values;
+    private final MappedColumn[] errors;
+
+    private SweepExportWriter(MappedColumn inputs, MappedColumn references, MappedColumn[] values,
+                              MappedColumn[] errors) {
+        this.inputs = inputs;
+        this.references = references;
+        this.values = values;
+        this.errors = errors;
+    }
+
+    public static SweepExportWriter create(Path directory, String functionName, String referenceName, double start,
+                                           double end, long points, List<String> approximationNames)
+            throws IOException {
+        Files.createDirectories(directory);
+
+        Properties manifest = new Properties();
+        manifest.setProperty("format", FORMAT);
+        manifest.setProperty("function", functionName);
+        manifest.setProperty("reference", referenceName);
+        manifest.setProperty("start", String.valueOf(start));
+        manifest.setProperty("end", String.valueOf(end));
+        manifest.setProperty("points", String.valueOf(points));
+        manifest.setProperty("column." + INPUT_COLUMN, columnFile(INPUT_COLUMN));
+        manifest.setProperty("column." + REFERENCE_COLUMN, columnFile(REFERENCE_COLUMN));
+        manifest.setProperty("approximations", String.valueOf(approximationNames.size()));
+        for (int i = 0; i < approximationNames.size(); i++) {
+            manifest.setProperty("approximation." + i + ".name", approximationNames.get(i));
+            manifest.setProperty("approximation." + i + ".values", columnFile(valueColumn(i)));
+            manifest.setProperty("approximation." + i + ".errors", columnFile(errorColumn(i)));
+        }
+
+        MappedColumn inputs = null;
+        MappedColumn references = null;
+        MappedColumn[] values = new MappedColumn[approximationNames.size()];
+        MappedColumn[] errors = new MappedColumn[approximationNames.size()];
+        try {
+            inputs = MappedColumn.create(directory.resolve(columnFile(INPUT_COLUMN)), points);
+            references = MappedColumn.create(directory.resolve(columnFile(REFERENCE_COLUMN)), points);
+            for (int i = 0; i < approximationNames.size(); i++) {
+                values[i] = MappedColumn.create(directory.resolve(columnFile(valueColumn(i))), points);
+                errors[i] = MappedColumn.create(directory.resolve(columnFile(errorColumn(i))), points);
+            }
+
+            try (Writer writer = Files.newBufferedWriter(directory.resolve(MANIFEST_FILE), StandardCharsets.UTF_8)) {
+                manifest.store(writer, "Accuracy sweep export, columns are little-endian float64 after a "
+                        + MappedColumn.HEADER_BYTES + " byte header");
+            }
+        } catch (IOException | RuntimeException e) {
+            closeAll(inputs, references, values, errors);
+            throw e;
+        }
+
+        return new SweepExportWriter(inputs, references, values, errors);
+    }
+
+    public void putReference(long index, double x, double reference) {
+        inputs.set(index, x);
+        references.set(index, reference);
+    }
+
+    public void putApproximation(int approximation, long index, double value, double error) {
+        values[approximation].set(index, value);
+        errors[approximation].set(index, error);
+    }
+
+    @Override
+    public void close() {
+        closeAll(inputs, references, values, errors);
+    }
+
+    static String columnFile(String column) {
+        return column + MappedColumn.FILE_EXTENSION;
+    }
+
+    static String valueColumn(int approximation) {
+        return "approximation-" + approximation + "-value";
+    }
+
+    static String errorColumn(int approximation) {
+        return "approximation-" + approximation + "-error";
+    }
+
+    private static void closeAll(MappedColumn inputs, MappedColumn references, MappedColumn[] values,
+                                 MappedColumn[] errors) {
+        if (inputs != null) {
+            inputs.close();
+        }
+        if (references != null) {
+            references.close();
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                values[i].close();
+            }
+            if (errors[i] != null) {
+                errors[i].close();
+            }
+        }
+    }
+}
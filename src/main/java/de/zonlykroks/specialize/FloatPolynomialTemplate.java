@@ -0,0 +1,31 @@
+package de.zonlykroks.specialize;
+
+import de.zonlykroks.algorithm.polynomial.FloatUnaryOperator;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Float counterpart of {@link PolynomialTemplate}.
+ */
+final class FloatPolynomialTemplate implements FloatUnaryOperator {
+    private static final MethodHandle POLYNOMIAL;
+
+    static {
+        try {
+            POLYNOMIAL = MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, MethodHandle.class);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    public float applyAsFloat(float x) {
+        try {
+            return (float) POLYNOMIAL.invokeExact(x);
+        } catch (Throwable t) {
+            throw KernelSpecializer.rethrow(t);
+        }
+    }
+}
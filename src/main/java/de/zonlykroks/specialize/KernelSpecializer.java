@@ -0,0 +1,159 @@
+package de.zonlykroks.specialize;
+
+import de.zonlykroks.algorithm.polynomial.FloatUnaryOperator;
+import de.zonlykroks.algorithm.polynomial.Polynomial;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Generates per-function copies of the tester's loops at runtime.
+ * <p>
+ * Every algorithm is a lambda behind the same {@link DoubleUnaryOperator} interface. When one loop calls many of
+ * them, its call site's type profile fills up and C2 stops inlining any of them, so the loop measures a virtual call
+ * instead of the kernel. Defining the loop's class file again as a hidden class for each function, with the function
+ * as a trusted constant, gives every kernel a call site of its own.
+ * <p>
+ * {@link #polynomial} does the same for polynomial evaluation and binds each coefficient into the method handle
+ * chain, where C2 can fold it like a literal instead of loading it from an array.
+ */
+public final class KernelSpecializer {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType UNARY_DOUBLE = MethodType.methodType(double.class, double.class);
+    private static final MethodType UNARY_FLOAT = MethodType.methodType(float.class, float.class);
+
+    private static final MethodHandle MULTIPLY_ADD;
+    private static final MethodHandle FMA;
+    private static final MethodHandle MULTIPLY_ADD_FLOAT;
+    private static final MethodHandle FMA_FLOAT;
+
+    private static final byte[] KERNEL_TEMPLATE = templateBytes(KernelTemplate.class);
+    private static final byte[] POLYNOMIAL_TEMPLATE = templateBytes(PolynomialTemplate.class);
+    private static final byte[] FLOAT_POLYNOMIAL_TEMPLATE = templateBytes(FloatPolynomialTemplate.class);
+
+    static {
+        try {
+            MULTIPLY_ADD = LOOKUP.findStatic(KernelSpecializer.class, "multiplyAdd",
+                    MethodType.methodType(double.class, double.class, double.class, double.class));
+            FMA = LOOKUP.findStatic(Math.class, "fma",
+                    MethodType.methodType(double.class, double.class, double.class, double.class));
+            MULTIPLY_ADD_FLOAT = LOOKUP.findStatic(KernelSpecializer.class, "multiplyAdd",
+                    MethodType.methodType(float.class, float.class, float.class, float.class));
+            FMA_FLOAT = LOOKUP.findStatic(Math.class, "fma",
+                    MethodType.methodType(float.class, float.class, float.class, float.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private KernelSpecializer() {
+    }
+
+    /**
+     * Benchmark and sweep loops in a new hidden class that calls only {@code function}.
+     */
+    public static SpecializedKernel specialize(DoubleUnaryOperator function) {
+        return (SpecializedKernel) instantiate(KERNEL_TEMPLATE, function);
+    }
+
+    /**
+     * The tester's original loops, sharing one call site between all functions. Used when specialization is
+     * switched off, e.g. to measure what it gains.
+     */
+    public static SpecializedKernel generic(DoubleUnaryOperator function) {
+        return new SpecializedKernel() {
+            @Override
+            public double runLoop(double[] testValues, int iterations) {
+                double sum = 0;
+                for (int i = 0; i < iterations; i++) {
+                    double x = testValues[i % testValues.length];
+                    sum += function.applyAsDouble(x);
+                }
+                return sum;
+            }
+
+            @Override
+            public void evaluate(double start, double step, int from, int count, double[] out) {
+                for (int i = 0; i < count; i++) {
+                    out[i] = function.applyAsDouble(start + (from + i) * step);
+                }
+            }
+        };
+    }
+
+    /**
+     * Horner evaluation of {@code polynomial} with its coefficients embedded as constants. Rounds exactly like
+     * {@code polynomial.evaluator(Scheme.HORNER, fma)}.
+     */
+    public static DoubleUnaryOperator polynomial(Polynomial polynomial, boolean fma) {
+        double[] c = polynomial.getCoefficients();
+        MethodHandle step = fma ? FMA : MULTIPLY_ADD;
+
+        // (x) -> c[n], then (x) -> h(x) * x + c[i] for each lower coefficient
+        MethodHandle horner = MethodHandles.dropArguments(MethodHandles.constant(double.class, c[c.length - 1]),
+                0, double.class);
+        for (int i = c.length - 2; i >= 0; i--) {
+            horner = MethodHandles.foldArguments(MethodHandles.insertArguments(step, 2, c[i]), horner);
+        }
+        return (DoubleUnaryOperator) instantiate(POLYNOMIAL_TEMPLATE, horner.asType(UNARY_DOUBLE));
+    }
+
+    /**
+     * Float counterpart of {@link #polynomial(Polynomial, boolean)}, rounding like
+     * {@code polynomial.floatEvaluator(Scheme.HORNER, fma)}.
+     */
+    public static FloatUnaryOperator floatPolynomial(Polynomial polynomial, boolean fma) {
+        double[] c = polynomial.getCoefficients();
+        MethodHandle step = fma ? FMA_FLOAT : MULTIPLY_ADD_FLOAT;
+
+        MethodHandle horner = MethodHandles.dropArguments(
+                MethodHandles.constant(float.class, (float) c[c.length - 1]), 0, float.class);
+        for (int i = c.length - 2; i >= 0; i--) {
+            horner = MethodHandles.foldArguments(MethodHandles.insertArguments(step, 2, (float) c[i]), horner);
+        }
+        return (FloatUnaryOperator) instantiate(FLOAT_POLYNOMIAL_TEMPLATE, horner.asType(UNARY_FLOAT));
+    }
+
+    static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException e) {
+            throw e;
+        }
+        if (t instanceof Error e) {
+            throw e;
+        }
+        throw new IllegalStateException(t);
+    }
+
+    private static Object instantiate(byte[] template, Object classData) {
+        try {
+            MethodHandles.Lookup hidden = LOOKUP.defineHiddenClassWithClassData(template, classData, true);
+            return hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (Throwable t) {
+            throw new IllegalStateException("Could not define specialized class from template", t);
+        }
+    }
+
+    private static byte[] templateBytes(Class<?> template) {
+        try (InputStream in = template.getResourceAsStream(template.getSimpleName() + ".class")) {
+            if (in == null) {
+                throw new IllegalStateException("Class file of " + template.getName() + " not found");
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static double multiplyAdd(double accumulator, double x, double coefficient) {
+        return accumulator * x + coefficient;
+    }
+
+    private static float multiplyAdd(float accumulator, float x, float coefficient) {
+        return accumulator * x + coefficient;
+    }
+}
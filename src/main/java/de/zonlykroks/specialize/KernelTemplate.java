@@ -0,0 +1,41 @@
+package de.zonlykroks.specialize;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandles;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Bytecode template for {@link KernelSpecializer#specialize}. The regular class is loaded only to locate its class
+ * file and is never initialized or instantiated; the class file is defined again as a hidden class for every
+ * function, with that function as class data. Static finals of hidden
+ * classes are trusted constants, so C2 knows the exact receiver type and inlines the function into both loops.
+ */
+final class KernelTemplate implements SpecializedKernel {
+    private static final DoubleUnaryOperator FUNCTION;
+
+    static {
+        try {
+            FUNCTION = MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME,
+                    DoubleUnaryOperator.class);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    public double runLoop(double[] testValues, int iterations) {
+        double sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            double x = testValues[i % testValues.length];
+            sum += FUNCTION.applyAsDouble(x);
+        }
+        return sum;
+    }
+
+    @Override
+    public void evaluate(double start, double step, int from, int count, double[] out) {
+        for (int i = 0; i < count; i++) {
+            out[i] = FUNCTION.applyAsDouble(start + (from + i) * step);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package de.zonlykroks.specialize;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Bytecode template for {@link KernelSpecializer#polynomial(de.zonlykroks.algorithm.polynomial.Polynomial, boolean)}.
+ * The class data is a Horner chain with every coefficient bound as a constant.
+ */
+final class PolynomialTemplate implements DoubleUnaryOperator {
+    private static final MethodHandle POLYNOMIAL;
+
+    static {
+        try {
+            POLYNOMIAL = MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, MethodHandle.class);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    public double applyAsDouble(double x) {
+        try {
+            return (double) POLYNOMIAL.invokeExact(x);
+        } catch (Throwable t) {
+            throw KernelSpecializer.rethrow(t);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package de.zonlykroks.specialize;
+
+/**
+ * The benchmark and sweep loops of {@link de.zonlykroks.ApproximationTester} bound to one function. Instances
+ * created by {@link KernelSpecializer#specialize} each live in their own hidden class, so the call inside the loops
+ * only ever sees that one function.
+ */
+public interface SpecializedKernel {
+    /**
+     * Calls the function {@code iterations} times, cycling through {@code testValues}, and returns the sum of the
+     * results.
+     */
+    double runLoop(double[] testValues, int iterations);
+
+    /**
+     * Stores the function's value at {@code start + (from + i) * step} in {@code out[i]} for
+     * {@code i < count}.
+     */
+    void evaluate(double start, double step, int from, int count, double[] out);
+}
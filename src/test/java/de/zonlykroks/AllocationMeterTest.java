@@ -0,0 +1,50 @@
+package de.zonlykroks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class AllocationMeterTest {
+    private static final int ITERATIONS = 1_000_000;
+
+    // Published so escape analysis cannot remove the allocation
+    static double[] sink;
+    private static int calls;
+
+    @Test
+    void occasionalAllocationIsFlagged() {
+        assumeTrue(AllocationMeter.isAllocationTrackingSupported());
+
+        ApproximationTester tester = new ApproximationTester("allocation");
+        tester.setReferenceFunction(x -> x * 0.5, "clean");
+        tester.registerApproximation(AllocationMeterTest::allocateEvery64thCall, "occasional allocator");
+
+        List<PerformanceResult> results = tester.measurePerformance(ITERATIONS);
+
+        PerformanceResult clean = results.get(0);
+        PerformanceResult allocator = results.get(1);
+        assertFalse(clean.allocatesInSteadyState(), () -> clean.allocation().allocatedBytes() + " bytes");
+        // Well below one byte per call, which a per-operation threshold would miss
+        assertTrue(allocator.bytesPerOperation() < 1.0, () -> allocator.bytesPerOperation() + " bytes/op");
+        assertTrue(allocator.allocatesInSteadyState(), () -> allocator.allocation().allocatedBytes() + " bytes");
+    }
+
+    @Test
+    void unsupportedAccountingIsNeverFlagged() {
+        assertFalse(new AllocationMeter.Result(-1, 0, 0).allocatesInSteadyState());
+        assertFalse(new AllocationMeter.Result(AllocationMeter.Result.STEADY_STATE_ALLOCATION_NOISE_BYTES - 1, 0, 0)
+                .allocatesInSteadyState());
+    }
+
+    private static double allocateEvery64thCall(double x) {
+        if ((++calls & 63) == 0) {
+            sink = new double[4];
+            sink[0] = x;
+        }
+        return x;
+    }
+}
@@ -0,0 +1,38 @@
+package de.zonlykroks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ApproximationTesterTest {
+    @Test
+    void nonPositivePointsAreRejected() {
+        ApproximationTester tester = new ApproximationTester("sin");
+        tester.setReferenceFunction(Math::sin, "sin");
+        tester.registerApproximation(x -> x, "identity");
+
+        for (int points : new int[]{0, -1, Integer.MIN_VALUE}) {
+            assertThrows(IllegalArgumentException.class, () -> tester.measureAccuracy(0.0, 1.0, points));
+            assertThrows(IllegalArgumentException.class, () -> tester.testRange(0.0, 1.0, points, false));
+        }
+    }
+
+    @Test
+    void sweepSpansSeveralChunks() {
+        ApproximationTester tester = new ApproximationTester("identity");
+        tester.setReferenceFunction(x -> x, "identity");
+        tester.registerApproximation(x -> x < 0.75 ? x : x + 1.0, "step");
+
+        // Not a multiple of the chunk size, so the last chunk is partial
+        List<AccuracyResult> results = tester.measureAccuracy(0.0, 1.0, 10_000);
+
+        AccuracyResult result = results.getFirst();
+        assertEquals(10_000, result.points());
+        assertEquals(0.25, result.averageError(), 1e-12);
+        assertEquals(1.0, result.maxError());
+        assertEquals(0.75, result.maxErrorInput());
+    }
+}
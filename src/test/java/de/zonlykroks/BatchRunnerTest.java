@@ -0,0 +1,87 @@
+package de.zonlykroks;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchRunnerTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void documentedSpecRuns() throws IOException, InterruptedException {
+        BatchRunner.Spec spec = BatchRunner.readSpec(writeSpec("""
+                accuracy.points=1000
+                performance.iterations=0
+                job.0.function=Sin Approximations
+                job.0.reference=sin
+                job.0.algorithms=CORDIC sine approximation;Taylor polynomial sine [degree=7, precision=64]
+                job.0.variants=true
+                job.0.start=0
+                job.0.end=6.283185307179586
+                """));
+
+        List<String> failures = new ArrayList<>();
+        List<BatchRunner.AccuracyRow> rows = BatchRunner.runAccuracy(spec, 2, failures);
+
+        assertEquals(List.of(), failures);
+        assertEquals(2, rows.size());
+        assertEquals("Taylor polynomial sine [degree=7, precision=64]", rows.get(1).result().name());
+    }
+
+    @Test
+    void unknownNamesFailOnlyTheirJob() throws IOException, InterruptedException {
+        BatchRunner.Spec spec = BatchRunner.readSpec(writeSpec("""
+                accuracy.points=1000
+                job.0.function=Sin Approximations
+                job.0.reference=Math.sin
+                job.1.function=Sin Approximations
+                job.1.algorithms=No such algorithm
+                job.2.function=No such function
+                job.3.function=Sin Approximations
+                job.3.algorithms=CORDIC sine approximation
+                """));
+
+        List<String> failures = new ArrayList<>();
+        List<BatchRunner.AccuracyRow> rows = BatchRunner.runAccuracy(spec, 2, failures);
+
+        assertEquals(3, failures.size());
+        assertTrue(failures.get(0).contains("Math.sin"), failures.get(0));
+        assertTrue(failures.get(1).contains("No such algorithm"), failures.get(1));
+        assertTrue(failures.get(2).contains("Unknown function: No such function"), failures.get(2));
+        assertEquals(1, rows.size());
+        assertEquals("CORDIC sine approximation", rows.getFirst().result().name());
+    }
+
+    @Test
+    void omittedJobKeysTakeTheFunctionDefaults() throws IOException, InterruptedException {
+        BatchRunner.Spec spec = BatchRunner.readSpec(writeSpec("""
+                accuracy.points=1000
+                job.0.function=Sin Approximations
+                job.0.algorithms=CORDIC sine approximation
+                """));
+
+        List<String> failures = new ArrayList<>();
+        List<BatchRunner.AccuracyRow> rows = BatchRunner.runAccuracy(spec, 1, failures);
+
+        assertEquals(List.of(), failures);
+        BatchRunner.Job job = rows.getFirst().job();
+        assertEquals("sin", job.reference());
+        assertEquals(-Math.PI, job.start());
+        assertEquals(Math.PI, job.end());
+    }
+
+    private Path writeSpec(String content) throws IOException {
+        Path file = directory.resolve("spec.properties");
+        Files.writeString(file, content);
+        return file;
+    }
+}
@@ -0,0 +1,80 @@
+package de.zonlykroks;
+
+import de.zonlykroks.algorithm.hypot.HypotApproximationFunctions;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.PaintScale;
+import org.jfree.chart.renderer.xy.XYBlockRenderer;
+import org.jfree.data.xy.XYZDataset;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.DoubleBinaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BivariateHeatmapTest {
+    private static final int POINTS = 64;
+    private static final int TILES = 8;
+
+    @Test
+    void overflowingSweepIsCountedAsInvalidAndRenders() {
+        for (double range : new double[]{1e200, 2e154}) {
+            ConcurrentLinkedQueue<BivariateSweepEngine.TileAggregate> tiles = new ConcurrentLinkedQueue<>();
+            BivariateSweepEngine.TileAggregate total = BivariateSweepEngine.sweep(Math::hypot, naiveHypot(),
+                    new BivariateSweepEngine.Grid(-range, range, POINTS, -range, range, POINTS),
+                    TILES, TILES, tiles::add);
+
+            // x*x + y*y overflows to infinity, so those points must not turn the statistics infinite
+            assertTrue(total.invalidCount() > 0, "range " + range);
+            assertTrue(Double.isFinite(total.maxError()), "range " + range);
+            assertTrue(Double.isFinite(total.meanError()), "range " + range);
+
+            JFreeChart chart = BivariateHeatmap.createChart("hypot", "x", "y", List.copyOf(tiles));
+            assertPaintsInvalidTilesApart(chart, List.copyOf(tiles));
+            chart.createBufferedImage(400, 300);
+        }
+    }
+
+    @Test
+    void sweepWithoutValidPointsRenders() {
+        ConcurrentLinkedQueue<BivariateSweepEngine.TileAggregate> tiles = new ConcurrentLinkedQueue<>();
+        BivariateSweepEngine.TileAggregate total = BivariateSweepEngine.sweep((a, b) -> a, (a, b) -> Double.NaN,
+                new BivariateSweepEngine.Grid(0.0, 1.0, 16, 0.0, 1.0, 16), 4, 4, tiles::add);
+
+        assertEquals(total.count(), total.invalidCount());
+        assertTrue(Double.isNaN(total.meanError()));
+
+        JFreeChart chart = BivariateHeatmap.createChart("all NaN", "a", "b", List.copyOf(tiles));
+        assertPaintsInvalidTilesApart(chart, List.copyOf(tiles));
+        chart.createBufferedImage(400, 300);
+    }
+
+    private static void assertPaintsInvalidTilesApart(JFreeChart chart, List<BivariateSweepEngine.TileAggregate> tiles) {
+        XYPlot plot = chart.getXYPlot();
+        XYZDataset dataset = (XYZDataset) plot.getDataset();
+        PaintScale paintScale = ((XYBlockRenderer) plot.getRenderer()).getPaintScale();
+
+        boolean sawInvalid = false;
+        for (int item = 0; item < tiles.size(); item++) {
+            Object paint = paintScale.getPaint(dataset.getZValue(0, item));
+            if (tiles.get(item).hasValidPoints()) {
+                assertNotEquals(Color.BLACK, paint);
+            } else {
+                assertEquals(Color.BLACK, paint);
+                sawInvalid = true;
+            }
+        }
+        assertTrue(sawInvalid);
+    }
+
+    private static DoubleBinaryOperator naiveHypot() {
+        return new HypotApproximationFunctions().getApproximationAlgorithms().stream()
+                .filter(algorithm -> algorithm.getName().equals("Naive sqrt(x*x + y*y)"))
+                .findFirst().orElseThrow().getFunction();
+    }
+}
@@ -0,0 +1,36 @@
+package de.zonlykroks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ForkedJvmTest {
+    @Test
+    void commandPutsFlagsBeforeClasspathAndArgumentsAfterMainClass() {
+        List<String> command = ForkedJvm.command("java", List.of("-XX:-UseSuperWord"), JvmBenchmarkWorker.class,
+                List.of("Sin Approximations", "1000"));
+
+        assertEquals("java", command.getFirst());
+        int flag = command.indexOf("-XX:-UseSuperWord");
+        int classpath = command.indexOf("-cp");
+        int mainClass = command.indexOf(JvmBenchmarkWorker.class.getName());
+        assertTrue(0 < flag && flag < classpath && classpath < mainClass, command.toString());
+        assertEquals(System.getProperty("java.class.path"), command.get(classpath + 1));
+        assertEquals(List.of("Sin Approximations", "1000"), command.subList(mainClass + 1, command.size()));
+    }
+
+    @Test
+    void failureMessageNamesTimeoutOrFirstErrorLine() {
+        assertTrue(new ForkedJvm.Result(0, false, List.of(), List.of()).succeeded());
+        assertFalse(new ForkedJvm.Result(0, true, List.of(), List.of()).succeeded());
+
+        assertEquals("timed out", new ForkedJvm.Result(-1, true, List.of(), List.of()).failureMessage());
+        assertEquals("exit code 1: Exception in thread \"main\"", new ForkedJvm.Result(1, false, List.of(),
+                List.of("", "  Exception in thread \"main\"", "\tat Foo")).failureMessage());
+        assertEquals("exit code 134", new ForkedJvm.Result(134, false, List.of(), List.of(" ")).failureMessage());
+    }
+}
@@ -0,0 +1,127 @@
+package de.zonlykroks;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JvmFlagMatrixRunnerTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void parseResultsReadsOnlyResultLines() {
+        Map<String, JvmFlagMatrixRunner.WorkerResult> results = JvmFlagMatrixRunner.parseResults(List.of(
+                "WARNING: some JVM chatter",
+                "RESULT\tsin\t12.5\t0.0\t16\t0\t0",
+                "RESULT\ttoo\tfew\tfields",
+                "NOTRESULT\tx\t1\t2\t3\t4\t5",
+                "RESULT\tCORDIC sine approximation\t3.25\t0.75\t750000\t2\t5"));
+
+        assertEquals(List.of("sin", "CORDIC sine approximation"), List.copyOf(results.keySet()));
+        assertEquals(new JvmFlagMatrixRunner.WorkerResult("sin", 12.5, 0.0, 16, 0, 0), results.get("sin"));
+
+        JvmFlagMatrixRunner.WorkerResult cordic = results.get("CORDIC sine approximation");
+        assertEquals(3.25, cordic.nanosPerOperation());
+        assertEquals(750000, cordic.allocatedBytes());
+        assertEquals(2, cordic.gcCount());
+        assertEquals(5, cordic.gcTimeMillis());
+        assertTrue(cordic.allocatesInSteadyState());
+        assertFalse(results.get("sin").allocatesInSteadyState());
+    }
+
+    @Test
+    void parseResultsRoundTripsWorkerOutput() {
+        PerformanceResult result = new PerformanceResult("Piecewise 32-bit sine approximation", 1000, 5000,
+                new AllocationMeter.Result(8192, 1, 3), 0.0);
+
+        Map<String, JvmFlagMatrixRunner.WorkerResult> parsed =
+                JvmFlagMatrixRunner.parseResults(List.of(JvmBenchmarkWorker.format(result)));
+
+        assertEquals(new JvmFlagMatrixRunner.WorkerResult(result.name(), 5.0, 8.192, 8192, 1, 3),
+                parsed.get(result.name()));
+    }
+
+    @Test
+    void readMatrixParsesLabelsFlagsAndJdk() throws IOException {
+        Path matrix = write("""
+                # comment
+
+                C2:
+                  C2 without SuperWord:   -XX:-UseSuperWord  -Xmx1g
+                Other JDK: jdk=/opt/jdk -XX:+UseSerialGC
+                """);
+
+        List<JvmFlagMatrixRunner.JvmConfiguration> configurations = JvmFlagMatrixRunner.readMatrix(matrix);
+
+        assertEquals(3, configurations.size());
+        assertEquals(new JvmFlagMatrixRunner.JvmConfiguration("C2", ForkedJvm.currentJavaExecutable(), List.of()),
+                configurations.get(0));
+        assertEquals(new JvmFlagMatrixRunner.JvmConfiguration("C2 without SuperWord",
+                ForkedJvm.currentJavaExecutable(), List.of("-XX:-UseSuperWord", "-Xmx1g")), configurations.get(1));
+        assertEquals(new JvmFlagMatrixRunner.JvmConfiguration("Other JDK",
+                ForkedJvm.javaExecutable(Path.of("/opt/jdk")), List.of("-XX:+UseSerialGC")), configurations.get(2));
+    }
+
+    @Test
+    void readMatrixRejectsMalformedLines() throws IOException {
+        Path withoutLabel = write("C2:\n-XX:-UseSuperWord\n");
+        Path emptyLabel = write(": -XX:-UseSuperWord\n");
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> JvmFlagMatrixRunner.readMatrix(withoutLabel));
+        assertTrue(error.getMessage().contains("-XX:-UseSuperWord"), error.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> JvmFlagMatrixRunner.readMatrix(emptyLabel));
+    }
+
+    @Test
+    void formatTableMarksFastestAllocationsAndFailures() {
+        JvmFlagMatrixRunner.JvmConfiguration c2 = configuration("C2");
+        JvmFlagMatrixRunner.JvmConfiguration c1 = configuration("C1 only");
+        JvmFlagMatrixRunner.JvmConfiguration broken = configuration("Broken");
+
+        String table = JvmFlagMatrixRunner.formatTable(List.of(
+                new JvmFlagMatrixRunner.RunOutcome(c2, Map.of(
+                        "sin", new JvmFlagMatrixRunner.WorkerResult("sin", 10.0, 0.0, 0, 0, 0),
+                        "cordic", new JvmFlagMatrixRunner.WorkerResult("cordic", 2.0, 0.5, 500000, 1, 1)), null),
+                new JvmFlagMatrixRunner.RunOutcome(c1, Map.of(
+                        "sin", new JvmFlagMatrixRunner.WorkerResult("sin", 5.0, 0.0, 0, 0, 0)), null),
+                new JvmFlagMatrixRunner.RunOutcome(broken, Map.of(), "exit code 1: boom")));
+
+        List<String> lines = table.lines().toList();
+        String sinRow = row(lines, "sin");
+        String cordicRow = row(lines, "cordic");
+
+        assertEquals(List.of("sin", "10.000", "5.000", "failed", "C1 only"), cells(sinRow));
+        assertEquals(List.of("cordic", "2.000*", "-", "failed", "C2"), cells(cordicRow));
+        assertTrue(lines.contains("* allocates in steady state"), table);
+        assertTrue(lines.contains("Broken failed: exit code 1: boom"), table);
+    }
+
+    private static String row(List<String> lines, String name) {
+        return lines.stream().filter(line -> line.startsWith(name + " ")).findFirst().orElseThrow();
+    }
+
+    private static List<String> cells(String row) {
+        return List.of(row.split("\\s*\\|\\s*")).stream().map(String::trim).toList();
+    }
+
+    private static JvmFlagMatrixRunner.JvmConfiguration configuration(String label) {
+        return new JvmFlagMatrixRunner.JvmConfiguration(label, ForkedJvm.currentJavaExecutable(), List.of());
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = Files.createTempFile(directory, "matrix", ".txt");
+        Files.writeString(file, content);
+        return file;
+    }
+}
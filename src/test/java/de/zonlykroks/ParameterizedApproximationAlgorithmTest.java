@@ -0,0 +1,59 @@
+package de.zonlykroks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParameterizedApproximationAlgorithmTest {
+    @Test
+    void variantsCoverTheFullGridInParameterOrder() {
+        List<Map<String, Integer>> created = new ArrayList<>();
+        ParameterizedApproximationAlgorithm family = new ParameterizedApproximationAlgorithm("family",
+                AlgorithmParameter.of("degree", 3, 5, 7),
+                AlgorithmParameter.of("precision", 32, 64)) {
+            @Override
+            protected DoubleUnaryOperator createFunction(Map<String, Integer> values) {
+                created.add(values);
+                int degree = values.get("degree");
+                int precision = values.get("precision");
+                return x -> degree * 100 + precision;
+            }
+        };
+
+        List<ApproximationAlgorithm> variants = family.getVariants();
+
+        assertEquals(List.of(
+                "family [degree=3, precision=32]", "family [degree=3, precision=64]",
+                "family [degree=5, precision=32]", "family [degree=5, precision=64]",
+                "family [degree=7, precision=32]", "family [degree=7, precision=64]"),
+                variants.stream().map(ApproximationAlgorithm::getName).toList());
+        assertEquals(Map.of("degree", 5, "precision", 64), created.get(3));
+        assertEquals(764.0, variants.get(5).getFunction().applyAsDouble(0.0));
+    }
+
+    @Test
+    void familyWithoutParametersHasOneVariant() {
+        ParameterizedApproximationAlgorithm family = new ParameterizedApproximationAlgorithm("fixed") {
+            @Override
+            protected DoubleUnaryOperator createFunction(Map<String, Integer> values) {
+                return x -> values.size();
+            }
+        };
+
+        List<ApproximationAlgorithm> variants = family.getVariants();
+
+        assertEquals(1, variants.size());
+        assertEquals(0.0, variants.getFirst().getFunction().applyAsDouble(1.0));
+    }
+
+    @Test
+    void parameterWithoutValuesIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> AlgorithmParameter.of("degree"));
+    }
+}
@@ -0,0 +1,91 @@
+package de.zonlykroks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParetoFrontierReportTest {
+    @Test
+    void frontierKeepsOnlyVariantsMoreAccurateThanEveryFasterOne() {
+        List<ParetoFrontierReport.VariantResult> marked = ParetoFrontierReport.markFrontier(List.of(
+                variant("slow and exact", 0.0, 0, 9.0),
+                variant("fast and rough", 1e-3, 0, 1.0),
+                variant("dominated", 1e-2, 0, 2.0),
+                variant("middle", 1e-6, 0, 4.0)));
+
+        assertEquals(List.of("fast and rough", "dominated", "middle", "slow and exact"), names(marked));
+        assertEquals(List.of(true, false, true, true), frontier(marked));
+    }
+
+    @Test
+    void tiesGoToTheFasterOrMoreAccurateVariant() {
+        List<ParetoFrontierReport.VariantResult> marked = ParetoFrontierReport.markFrontier(List.of(
+                variant("same speed, worse", 1e-3, 0, 1.0),
+                variant("same speed, better", 1e-4, 0, 1.0),
+                variant("same error, slower", 1e-4, 0, 2.0),
+                variant("identical twin", 1e-4, 0, 1.0)));
+
+        assertEquals(List.of("same speed, better", "identical twin", "same speed, worse", "same error, slower"),
+                names(marked));
+        // Only the first of two identical results is kept; neither strictly dominates the other
+        assertEquals(List.of(true, false, false, false), frontier(marked));
+    }
+
+    @Test
+    void variantsWithInvalidPointsAreNeverOnTheFrontier() {
+        List<ParetoFrontierReport.VariantResult> marked = ParetoFrontierReport.markFrontier(List.of(
+                variant("partly NaN", 1e-9, 10, 1.0),
+                variant("valid", 1e-3, 0, 2.0)));
+
+        assertEquals(List.of(false, true), frontier(marked));
+    }
+
+    @Test
+    void measureCountsNaNErrorsAsInvalid() {
+        DoubleUnaryOperator partlyNaN = x -> x < 0.5 ? x : Double.NaN;
+        List<ApproximationAlgorithm> variants = List.of(algorithm("exact", x -> x), algorithm("partly NaN", partlyNaN));
+
+        List<ParetoFrontierReport.VariantResult> results = ParetoFrontierReport.measure("identity", x -> x, "identity",
+                variants, 0.0, 1.0, 1000, 1000);
+
+        ParetoFrontierReport.VariantResult exact = find(results, "exact");
+        ParetoFrontierReport.VariantResult invalid = find(results, "partly NaN");
+        assertEquals(0, exact.invalidPoints());
+        assertTrue(exact.onFrontier());
+        assertEquals(500, invalid.invalidPoints());
+        assertEquals(0.0, invalid.maxError());
+        assertFalse(invalid.onFrontier());
+    }
+
+    private static ParetoFrontierReport.VariantResult variant(String name, double maxError, int invalidPoints,
+                                                              double nanosPerOperation) {
+        return new ParetoFrontierReport.VariantResult(name, maxError, 0.0, invalidPoints, nanosPerOperation, false);
+    }
+
+    private static ApproximationAlgorithm algorithm(String name, DoubleUnaryOperator function) {
+        return new ApproximationAlgorithm(name) {
+            @Override
+            public DoubleUnaryOperator getFunction() {
+                return function;
+            }
+        };
+    }
+
+    private static ParetoFrontierReport.VariantResult find(List<ParetoFrontierReport.VariantResult> results,
+                                                           String name) {
+        return results.stream().filter(result -> result.name().equals(name)).findFirst().orElseThrow();
+    }
+
+    private static List<String> names(List<ParetoFrontierReport.VariantResult> results) {
+        return results.stream().map(ParetoFrontierReport.VariantResult::name).toList();
+    }
+
+    private static List<Boolean> frontier(List<ParetoFrontierReport.VariantResult> results) {
+        return results.stream().map(ParetoFrontierReport.VariantResult::onFrontier).toList();
+    }
+}
@@ -0,0 +1,92 @@
+package de.zonlykroks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SampledAccuracyEstimatorTest {
+    private static final DoubleUnaryOperator REFERENCE = Math::sin;
+
+    @Test
+    void infiniteErrorsAreInvalidSamples() {
+        DoubleUnaryOperator overflowing = x -> Math.abs(x - 1.0) < 0.01 ? Double.POSITIVE_INFINITY : Math.sin(x) + 1e-3;
+        SampledAccuracyEstimator.Estimate estimate = SampledAccuracyEstimator.estimate("overflow", REFERENCE,
+                overflowing, 0.0, 2.0, settings(0.01, 200_000), 42);
+
+        assertTrue(estimate.invalidSamples() > 0);
+        assertTrue(Double.isFinite(estimate.meanError()));
+        assertEquals(1e-3, estimate.meanError(), 1e-9);
+        assertTrue(Double.isFinite(estimate.maxError()));
+    }
+
+    @Test
+    void infiniteReferenceIsAnInvalidSample() {
+        SampledAccuracyEstimator.Estimate estimate = SampledAccuracyEstimator.estimate("infinite reference",
+                x -> Double.NEGATIVE_INFINITY, x -> 0.0, 0.0, 1.0, settings(0.01, 20_000), 42);
+
+        assertEquals(0, estimate.samples());
+        assertEquals(20_000, estimate.invalidSamples());
+        assertFalse(estimate.converged());
+    }
+
+    @Test
+    void nanErrorsAreInvalidSamples() {
+        DoubleUnaryOperator partlyNaN = x -> x < 0.5 ? Double.NaN : Math.sin(x) + 1e-3;
+        SampledAccuracyEstimator.Estimate estimate = SampledAccuracyEstimator.estimate("nan", REFERENCE,
+                partlyNaN, 0.0, 1.0, settings(0.01, 200_000), 42);
+
+        assertTrue(estimate.invalidSamples() > 0);
+        assertEquals(1e-3, estimate.meanError(), 1e-9);
+    }
+
+    @Test
+    void convergedIntervalsMeetTheRequestedPrecision() {
+        double precision = 0.02;
+        DoubleUnaryOperator approximation = x -> Math.sin(x) + 1e-3 * x;
+        SampledAccuracyEstimator.Estimate estimate = SampledAccuracyEstimator.estimate("linear error", REFERENCE,
+                approximation, 0.0, 1.0, settings(precision, 10_000_000), 42);
+
+        assertTrue(estimate.converged());
+        assertTrue(estimate.meanErrorUpper() - estimate.meanErrorLower() <= 2 * precision * estimate.meanError());
+        assertTrue(estimate.percentileErrorUpper() - estimate.percentileErrorLower()
+                <= 2 * precision * estimate.percentileError());
+    }
+
+    @Test
+    void precisionFinerThanTheHistogramNeverConverges() {
+        DoubleUnaryOperator approximation = x -> Math.sin(x) + 1e-3 * x;
+        SampledAccuracyEstimator.Estimate estimate = SampledAccuracyEstimator.estimate("too fine", REFERENCE,
+                approximation, 0.0, 1.0, settings(1e-4, 500_000), 42);
+
+        assertFalse(estimate.converged());
+        assertEquals(500_000, estimate.samples());
+    }
+
+    @Test
+    void unboundedPercentileNeverConverges() {
+        DoubleUnaryOperator huge = x -> Math.sin(x) + 1e6;
+        SampledAccuracyEstimator.Estimate estimate = SampledAccuracyEstimator.estimate("huge", REFERENCE, huge,
+                0.0, 1.0, settings(0.5, 200_000), 42);
+
+        assertEquals(Double.POSITIVE_INFINITY, estimate.percentileErrorUpper());
+        assertFalse(estimate.converged());
+    }
+
+    @Test
+    void exactApproximationConverges() {
+        SampledAccuracyEstimator.Estimate estimate = SampledAccuracyEstimator.estimate("exact", REFERENCE, REFERENCE,
+                0.0, 1.0, settings(0.01, 10_000_000), 42);
+
+        assertTrue(estimate.converged());
+        assertEquals(0.0, estimate.meanError());
+        assertEquals(0.0, estimate.percentileError());
+    }
+
+    private static SampledAccuracyEstimator.Settings settings(double precision, long maxSamples) {
+        return new SampledAccuracyEstimator.Settings(precision, 0.95, 0.99, 10_000, maxSamples);
+    }
+}
@@ -0,0 +1,46 @@
+package de.zonlykroks.algorithm.atan2;
+
+import de.zonlykroks.BivariateApproximationAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.DoubleBinaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Atan2ApproximationFunctionsTest {
+    private static final double[] SIGNED_ZEROS = {0.0, -0.0};
+    private static final double[] ARGUMENTS = {-2.0, -1.0, -0.5, -0.0, 0.0, 0.5, 1.0, 2.0};
+
+    @Test
+    void signedZerosFollowMathAtan2() {
+        for (BivariateApproximationAlgorithm algorithm : new Atan2ApproximationFunctions().getApproximationAlgorithms()) {
+            DoubleBinaryOperator atan2 = algorithm.getFunction();
+            for (double y : SIGNED_ZEROS) {
+                for (double x : ARGUMENTS) {
+                    double expected = Math.atan2(y, x);
+                    double actual = atan2.applyAsDouble(y, x);
+                    assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual),
+                            algorithm.getName() + ": atan2(" + y + ", " + x + ") = " + actual + ", expected " + expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    void quadrantsFollowMathAtan2() {
+        for (BivariateApproximationAlgorithm algorithm : new Atan2ApproximationFunctions().getApproximationAlgorithms()) {
+            DoubleBinaryOperator atan2 = algorithm.getFunction();
+            for (double y : ARGUMENTS) {
+                for (double x : ARGUMENTS) {
+                    assertEquals(Math.atan2(y, x), atan2.applyAsDouble(y, x), 2e-3,
+                            algorithm.getName() + ": atan2(" + y + ", " + x + ")");
+                }
+            }
+        }
+    }
+
+    @Test
+    void referencesAreRegistered() {
+        assertEquals(2, new Atan2ApproximationFunctions().getReferenceImplementations().size());
+    }
+}
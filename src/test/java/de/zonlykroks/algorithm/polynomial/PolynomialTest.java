@@ -0,0 +1,75 @@
+package de.zonlykroks.algorithm.polynomial;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PolynomialTest {
+    private static final int MAX_DEGREE = 11;
+
+    @Test
+    void everySchemeIsExactOnSmallIntegers() {
+        // Small integer coefficients and arguments keep every intermediate exact, so all schemes must agree bitwise
+        for (int degree = 0; degree <= MAX_DEGREE; degree++) {
+            double[] coefficients = new double[degree + 1];
+            for (int i = 0; i <= degree; i++) {
+                coefficients[i] = (i % 3) - 1;
+            }
+            Polynomial polynomial = Polynomial.of(coefficients);
+
+            for (int x = -2; x <= 2; x++) {
+                double expected = Polynomial.horner(coefficients, x);
+                for (Polynomial.Scheme scheme : Polynomial.Scheme.values()) {
+                    for (boolean fma : new boolean[]{false, true}) {
+                        String message = scheme + (fma ? " FMA" : "") + ", degree " + degree + ", x = " + x;
+                        assertEquals(expected, polynomial.evaluator(scheme, fma).applyAsDouble(x), message);
+                        assertEquals((float) expected, polynomial.floatEvaluator(scheme, fma).applyAsFloat(x), message);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void everySchemeMatchesHorner() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int degree = 0; degree <= MAX_DEGREE; degree++) {
+            double[] coefficients = new double[degree + 1];
+            for (int i = 0; i <= degree; i++) {
+                coefficients[i] = random.nextDouble(-1.0, 1.0);
+            }
+            Polynomial polynomial = Polynomial.of(coefficients);
+            float[] floatCoefficients = new float[coefficients.length];
+            for (int i = 0; i < coefficients.length; i++) {
+                floatCoefficients[i] = (float) coefficients[i];
+            }
+
+            for (int sample = 0; sample < 1000; sample++) {
+                double x = random.nextDouble(-1.0, 1.0);
+                double expected = Polynomial.horner(coefficients, x);
+                float expectedFloat = Polynomial.horner(floatCoefficients, (float) x);
+
+                for (Polynomial.Scheme scheme : Polynomial.Scheme.values()) {
+                    for (boolean fma : new boolean[]{false, true}) {
+                        String message = scheme + (fma ? " FMA" : "") + ", degree " + degree + ", x = " + x;
+                        DoubleUnaryOperator evaluator = polynomial.evaluator(scheme, fma);
+                        assertEquals(expected, evaluator.applyAsDouble(x), 1e-14 * (degree + 1), message);
+                        assertEquals(expectedFloat, polynomial.floatEvaluator(scheme, fma).applyAsFloat((float) x),
+                                1e-6f * (degree + 1), message);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void evaluateIsHorner() {
+        Polynomial polynomial = Polynomial.of(1.0, -1.0 / 6.0, 1.0 / 120.0, -1.0 / 5040.0);
+        double x = 0.7;
+        assertEquals(Polynomial.horner(polynomial.getCoefficients(), x), polynomial.evaluate(x));
+        assertEquals(polynomial.evaluator(Polynomial.Scheme.HORNER, false).applyAsDouble(x), polynomial.evaluate(x));
+    }
+}
@@ -0,0 +1,188 @@
+package de.zonlykroks.algorithm.sin;
+
+import de.zonlykroks.ApproximationAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SinApproximationFunctionsTest {
+    private static final String PIECEWISE = "Piecewise 32-bit sine approximation";
+    private static final String CORDIC = "CORDIC sine approximation";
+    private static final String CHEBYSHEV = "Chebyshev polynomial sine approximation";
+
+    private final SinApproximationFunctions functions = new SinApproximationFunctions();
+
+    @Test
+    void piecewiseMatchesNestedExpressions() {
+        DoubleUnaryOperator piecewise = algorithm(PIECEWISE);
+
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 1_000_000; i++) {
+            double x = random.nextDouble(-10.0, 10.0);
+            assertBitIdentical(legacyPiecewiseSine(x), piecewise.applyAsDouble(x), x);
+        }
+        for (double x : new double[]{0.0, -0.0, 0.5, 1.3, Math.PI, -Math.PI, Math.PI / 2, -Math.PI / 2, 1e-6}) {
+            assertBitIdentical(legacyPiecewiseSine(x), piecewise.applyAsDouble(x), x);
+        }
+    }
+
+    @Test
+    void chebyshevMatchesNestedExpression() {
+        DoubleUnaryOperator chebyshev = algorithm(CHEBYSHEV);
+
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 1_000_000; i++) {
+            double x = random.nextDouble(-10.0, 10.0);
+            assertBitIdentical(legacyChebyshevSine(x), chebyshev.applyAsDouble(x), x);
+        }
+        for (double x : edgeInputs()) {
+            assertBitIdentical(legacyChebyshevSine(x), chebyshev.applyAsDouble(x), x);
+        }
+    }
+
+    @Test
+    void branchlessPiecewiseIsBitIdenticalForFiniteInputs() {
+        DoubleUnaryOperator branchy = algorithm(PIECEWISE);
+        DoubleUnaryOperator branchless = algorithm(PIECEWISE + " [branchless]");
+
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 1_000_000; i++) {
+            double x = random.nextDouble(-100.0, 100.0);
+            assertBitIdentical(branchy.applyAsDouble(x), branchless.applyAsDouble(x), x);
+        }
+        for (double x : edgeInputs()) {
+            assertBitIdentical(branchy.applyAsDouble(x), branchless.applyAsDouble(x), x);
+        }
+    }
+
+    @Test
+    void branchlessCordicIsBitIdenticalForFiniteInputs() {
+        DoubleUnaryOperator branchy = algorithm(CORDIC);
+        DoubleUnaryOperator branchless = algorithm(CORDIC + " [branchless]");
+
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 1_000_000; i++) {
+            double x = random.nextDouble(-100.0, 100.0);
+            assertBitIdentical(branchy.applyAsDouble(x), branchless.applyAsDouble(x), x);
+        }
+        for (double x : edgeInputs()) {
+            assertBitIdentical(branchy.applyAsDouble(x), branchless.applyAsDouble(x), x);
+        }
+    }
+
+    /**
+     * Signed zeros, tiny values, and inputs whose reduced angle lands exactly on, or one ulp next to, the
+     * boundaries the kernels branch on: +-pi, +-pi/2 and the piecewise segment limits.
+     */
+    private static double[] edgeInputs() {
+        float[] floatBoundaries = {0.5f, 1.3f, 1.57079632f, 3.14159265f, 6.28318530f};
+        // Multiples of pi reduce to exactly +-pi or a signed zero
+        double[] doubleBoundaries = {Math.PI / 2, Math.PI, 2 * Math.PI, 3 * Math.PI, 4 * Math.PI, 5 * Math.PI};
+
+        List<Double> inputs = new ArrayList<>(List.of(0.0, -0.0, Double.MIN_VALUE, -Double.MIN_VALUE, 1e-6, -1e-6));
+        for (float boundary : floatBoundaries) {
+            for (float x : new float[]{Math.nextDown(boundary), boundary, Math.nextUp(boundary)}) {
+                inputs.add((double) x);
+                inputs.add((double) -x);
+                // Reduced angles of exactly +-pi: 2*pi - pi, computed in float like the kernel
+                inputs.add((double) (6.28318530f + x));
+                inputs.add((double) (-6.28318530f - x));
+            }
+        }
+        for (double boundary : doubleBoundaries) {
+            for (double x : new double[]{Math.nextDown(boundary), boundary, Math.nextUp(boundary)}) {
+                inputs.add(x);
+                inputs.add(-x);
+            }
+        }
+        return inputs.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    DoubleUnaryOperator algorithm(String name) {
+        for (ApproximationAlgorithm algorithm : functions.getApproximationAlgorithms()) {
+            if (algorithm.getName().equals(name)) {
+                return algorithm.getFunction();
+            }
+        }
+        throw new IllegalArgumentException("Unknown algorithm: " + name);
+    }
+
+    static void assertBitIdentical(double expected, double actual, double x) {
+        assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual),
+                () -> "x = " + x + ": expected " + expected + " but was " + actual);
+    }
+
+    /**
+     * The Chebyshev sine as it was written before its coefficients moved into {@code Polynomial}.
+     */
+    private static double legacyChebyshevSine(double x) {
+        if (Math.abs(x - Math.PI) < 1e-14 || Math.abs(x + Math.PI) < 1e-14) {
+            return 0.0;
+        }
+
+        double xNormalized = x % (2 * Math.PI);
+        if (xNormalized > Math.PI) {
+            xNormalized -= 2 * Math.PI;
+        } else if (xNormalized < -Math.PI) {
+            xNormalized += 2 * Math.PI;
+        }
+
+        double x2 = xNormalized * xNormalized;
+
+        return xNormalized * (1.0 - x2 * (1.0/6.0 - x2 * (1.0/120.0 - x2 * (1.0/5040.0 - x2/362880.0))));
+    }
+
+    /**
+     * The piecewise sine as it was written before the segments moved into {@code Polynomial}.
+     */
+    private static double legacyPiecewiseSine(double x) {
+        final float TWO_PI = 6.28318530f;
+        final float PI = 3.14159265f;
+        final float HALF_PI = 1.57079632f;
+
+        float xFloat = (float) x;
+
+        float recipTwoPI = 1.0f / TWO_PI;
+        int n = (int) (xFloat * recipTwoPI + (xFloat >= 0 ? 0.5f : -0.5f));
+        float xNormalized = xFloat - n * TWO_PI;
+
+        if (Math.abs(xNormalized) < 1e-5f) {
+            return xNormalized;
+        }
+
+        boolean negate = false;
+        if (xNormalized < 0.0f) {
+            xNormalized = -xNormalized;
+            negate = true;
+        }
+
+        if (xNormalized > PI) {
+            xNormalized = TWO_PI - xNormalized;
+            negate = !negate;
+        }
+
+        if (xNormalized > HALF_PI) {
+            xNormalized = PI - xNormalized;
+        }
+
+        final float xSquared = xNormalized * xNormalized;
+
+        float result;
+        if (xNormalized < 0.5f) {
+            result = xNormalized * (1.0f - xSquared * (0.16666666f - xSquared * (0.00833333f - xSquared * 0.00019841f)));
+        } else if (xNormalized < 1.3f) {
+            result = xNormalized * (1.0f - xSquared * (0.16666667f - xSquared * (0.00833333f - xSquared * (
+                    0.00019841f - xSquared * 0.00000276f))));
+        } else {
+            result = xNormalized * (1.0f - xSquared * (0.16666667f - xSquared * (0.00833333f - xSquared * (
+                    0.00019841f - xSquared * (0.00000276f - xSquared * 0.00000002f)))));
+        }
+
+        return negate ? -result : result;
+    }
+}
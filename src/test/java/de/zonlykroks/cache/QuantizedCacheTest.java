@@ -0,0 +1,129 @@
+package de.zonlykroks.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuantizedCacheTest {
+    @Test
+    void repeatedQuantizedInputsHit() {
+        AtomicInteger calls = new AtomicInteger();
+        DoubleUnaryOperator function = x -> {
+            calls.incrementAndGet();
+            return Math.sin(x);
+        };
+        QuantizedCache cache = new QuantizedCache(function, 1e-3, 64, EvictionPolicy.CLOCK);
+
+        double first = cache.applyAsDouble(0.5001);
+        double second = cache.applyAsDouble(0.5002);
+
+        assertEquals(first, second);
+        assertEquals(Math.sin(cache.quantize(0.5001)), first);
+        assertEquals(1, calls.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void inputsBeyondTheKeyRangeBypassTheCache() {
+        for (EvictionPolicy policy : EvictionPolicy.values()) {
+            QuantizedCache cache = new QuantizedCache(Math::sin, 1e-6, 64, policy);
+
+            for (double x : new double[]{1e14, -1e14, 1e300, Double.MAX_VALUE, -Double.MAX_VALUE}) {
+                assertEquals(Math.sin(x), cache.applyAsDouble(x), "x = " + x);
+                assertEquals(x, cache.quantize(x));
+            }
+            assertEquals(5, cache.getBypasses());
+            assertEquals(0, cache.getHits() + cache.getMisses());
+        }
+    }
+
+    @Test
+    void nonFiniteInputsBypassTheCache() {
+        for (double quantum : new double[]{0.0, 1e-3}) {
+            QuantizedCache cache = new QuantizedCache(x -> Double.isNaN(x) ? -1.0 : x, quantum, 64,
+                    EvictionPolicy.LRU);
+            cache.applyAsDouble(0.0);
+
+            assertEquals(-1.0, cache.applyAsDouble(Double.NaN));
+            assertEquals(Double.POSITIVE_INFINITY, cache.applyAsDouble(Double.POSITIVE_INFINITY));
+            assertEquals(Double.NEGATIVE_INFINITY, cache.applyAsDouble(Double.NEGATIVE_INFINITY));
+            assertTrue(Double.isNaN(cache.quantize(Double.NaN)));
+            assertEquals(3, cache.getBypasses());
+            assertEquals(0, cache.getHits());
+        }
+    }
+
+    @Test
+    void tinyQuantumOverflowBypassesTheCache() {
+        QuantizedCache cache = new QuantizedCache(Math::sin, Double.MIN_VALUE, 64, EvictionPolicy.CLOCK);
+        assertEquals(Math.sin(1.0), cache.applyAsDouble(1.0));
+        assertEquals(1, cache.getBypasses());
+    }
+
+    @Test
+    void evictionKeepsValuesCorrect() {
+        for (EvictionPolicy policy : EvictionPolicy.values()) {
+            QuantizedCache cache = new QuantizedCache(x -> 2.0 * x, 1.0, 8, policy);
+            for (int round = 0; round < 3; round++) {
+                for (int i = 0; i < 100; i++) {
+                    assertEquals(2.0 * i, cache.applyAsDouble(i), policy + ", x = " + i);
+                }
+            }
+            assertEquals(300, cache.getHits() + cache.getMisses());
+            assertTrue(cache.getEvictions() > 0, policy.name());
+        }
+    }
+
+    @Test
+    void clockKeepsOneHandPerWindow() {
+        // Two disjoint windows of a 16-slot table, each filled and then overflowed by keys sharing its home slot
+        QuantizedCache cache = new QuantizedCache(x -> x, 1.0, 16, EvictionPolicy.CLOCK);
+        int home = cache.homeSlot(0.0);
+        List<Double> first = keysWithHome(cache, home, QuantizedCache.PROBE_WINDOW + 2);
+        List<Double> second = keysWithHome(cache, (home + QuantizedCache.PROBE_WINDOW) % cache.capacity(),
+                QuantizedCache.PROBE_WINDOW + 1);
+        for (int i = 0; i < QuantizedCache.PROBE_WINDOW; i++) {
+            cache.applyAsDouble(first.get(i));
+            cache.applyAsDouble(second.get(i));
+        }
+
+        // Every entry is referenced, so the first sweep clears them all and evicts the entry the hand started at
+        cache.applyAsDouble(first.get(8));
+        assertFalse(cache.contains(first.get(0)));
+
+        // The first window's hand now points past its victim; the second window's hand must not have moved
+        cache.applyAsDouble(first.get(1));
+        cache.applyAsDouble(second.get(8));
+        assertFalse(cache.contains(second.get(0)));
+        for (int i = 1; i <= 8; i++) {
+            assertTrue(cache.contains(second.get(i)), "second window, key " + i);
+        }
+
+        // Back in the first window the hand starts at the recently referenced entry, spares it and evicts the next
+        cache.applyAsDouble(first.get(9));
+        assertTrue(cache.contains(first.get(1)));
+        assertFalse(cache.contains(first.get(2)));
+        for (int i = 3; i <= 9; i++) {
+            assertTrue(cache.contains(first.get(i)), "first window, key " + i);
+        }
+        assertEquals(3, cache.getEvictions());
+    }
+
+    private static List<Double> keysWithHome(QuantizedCache cache, int home, int count) {
+        List<Double> keys = new ArrayList<>();
+        for (int x = 0; keys.size() < count; x++) {
+            if (cache.homeSlot(x) == home) {
+                keys.add((double) x);
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,110 @@
+package de.zonlykroks.export;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SweepExportRoundTripTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void columnRoundTrip() throws IOException {
+        Path file = directory.resolve("column" + MappedColumn.FILE_EXTENSION);
+        double[] values = {0.0, -0.0, 1.5, -Math.PI, Double.MIN_VALUE, Double.MAX_VALUE, Double.NaN,
+                Double.POSITIVE_INFINITY};
+
+        try (MappedColumn column = MappedColumn.create(file, values.length)) {
+            for (int i = 0; i < values.length; i++) {
+                column.set(i, values[i]);
+            }
+        }
+        assertEquals(MappedColumn.HEADER_BYTES + values.length * Double.BYTES, Files.size(file));
+
+        try (MappedColumn column = MappedColumn.open(file)) {
+            assertEquals(values.length, column.size());
+            for (int i = 0; i < values.length; i++) {
+                assertEquals(Double.doubleToRawLongBits(values[i]), Double.doubleToRawLongBits(column.get(i)));
+            }
+            assertEquals(values.length * Double.BYTES, column.data().byteSize());
+        }
+    }
+
+    @Test
+    void emptyColumn() throws IOException {
+        Path file = directory.resolve("empty" + MappedColumn.FILE_EXTENSION);
+        MappedColumn.create(file, 0).close();
+        try (MappedColumn column = MappedColumn.open(file)) {
+            assertEquals(0, column.size());
+        }
+    }
+
+    @Test
+    void rejectsForeignAndTruncatedFiles() throws IOException {
+        Path foreign = directory.resolve("foreign" + MappedColumn.FILE_EXTENSION);
+        Files.write(foreign, new byte[64]);
+        assertThrows(IOException.class, () -> MappedColumn.open(foreign));
+
+        Path truncated = directory.resolve("truncated" + MappedColumn.FILE_EXTENSION);
+        MappedColumn.create(truncated, 16).close();
+        byte[] bytes = Files.readAllBytes(truncated);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - Double.BYTES));
+        assertThrows(IOException.class, () -> MappedColumn.open(truncated));
+    }
+
+    @Test
+    void sweepRoundTrip() throws IOException {
+        List<String> names = List.of("first", "second");
+        int points = 1000;
+        double start = -1.0;
+        double end = 1.0;
+        double step = (end - start) / points;
+
+        try (SweepExportWriter writer = SweepExportWriter.create(directory, "Sin Approximations", "sin", start, end,
+                points, names)) {
+            for (int i = 0; i < points; i++) {
+                double x = start + i * step;
+                writer.putReference(i, x, Math.sin(x));
+                writer.putApproximation(0, i, x, Math.abs(x - Math.sin(x)));
+                writer.putApproximation(1, i, -x, Math.abs(-x - Math.sin(x)));
+            }
+        }
+
+        try (SweepExportReader reader = SweepExportReader.open(directory)) {
+            assertEquals("Sin Approximations", reader.getFunctionName());
+            assertEquals("sin", reader.getReferenceName());
+            assertEquals(start, reader.getStart());
+            assertEquals(end, reader.getEnd());
+            assertEquals(points, reader.size());
+            assertEquals(names, reader.getApproximationNames());
+
+            double[] inputs = new double[points];
+            double[] expectedInputs = new double[points];
+            for (int i = 0; i < points; i++) {
+                double x = start + i * step;
+                expectedInputs[i] = x;
+                inputs[i] = reader.inputs().get(i);
+                assertEquals(Math.sin(x), reader.references().get(i));
+                assertEquals(x, reader.values("first").get(i));
+                assertEquals(Math.abs(x - Math.sin(x)), reader.errors("first").get(i));
+                assertEquals(-x, reader.values("second").get(i));
+                assertEquals(Math.abs(-x - Math.sin(x)), reader.errors("second").get(i));
+            }
+            assertArrayEquals(expectedInputs, inputs);
+        }
+    }
+
+    @Test
+    void missingManifestFailsToOpen() {
+        assertThrows(IOException.class, () -> SweepExportReader.open(directory));
+    }
+}
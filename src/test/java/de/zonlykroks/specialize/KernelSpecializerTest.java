@@ -0,0 +1,57 @@
+package de.zonlykroks.specialize;
+
+import de.zonlykroks.algorithm.polynomial.FloatUnaryOperator;
+import de.zonlykroks.algorithm.polynomial.Polynomial;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class KernelSpecializerTest {
+    @Test
+    void specializedPolynomialsRoundLikeHorner() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int degree = 0; degree <= 11; degree++) {
+            double[] coefficients = new double[degree + 1];
+            for (int i = 0; i <= degree; i++) {
+                coefficients[i] = random.nextDouble(-1.0, 1.0);
+            }
+            Polynomial polynomial = Polynomial.of(coefficients);
+
+            for (boolean fma : new boolean[]{false, true}) {
+                DoubleUnaryOperator expected = polynomial.evaluator(Polynomial.Scheme.HORNER, fma);
+                DoubleUnaryOperator specialized = KernelSpecializer.polynomial(polynomial, fma);
+                FloatUnaryOperator expectedFloat = polynomial.floatEvaluator(Polynomial.Scheme.HORNER, fma);
+                FloatUnaryOperator specializedFloat = KernelSpecializer.floatPolynomial(polynomial, fma);
+
+                for (int sample = 0; sample < 1000; sample++) {
+                    double x = random.nextDouble(-2.0, 2.0);
+                    assertEquals(Double.doubleToRawLongBits(expected.applyAsDouble(x)),
+                            Double.doubleToRawLongBits(specialized.applyAsDouble(x)), "degree " + degree + ", x = " + x);
+                    assertEquals(Float.floatToRawIntBits(expectedFloat.applyAsFloat((float) x)),
+                            Float.floatToRawIntBits(specializedFloat.applyAsFloat((float) x)),
+                            "degree " + degree + ", x = " + x);
+                }
+            }
+        }
+    }
+
+    @Test
+    void specializedKernelMatchesGenericLoops() {
+        DoubleUnaryOperator function = x -> x * x - 1.0;
+        double[] testValues = {0.0, 0.5, -1.5, 3.0};
+
+        SpecializedKernel specialized = KernelSpecializer.specialize(function);
+        SpecializedKernel generic = KernelSpecializer.generic(function);
+        assertEquals(generic.runLoop(testValues, 10), specialized.runLoop(testValues, 10));
+
+        double[] expected = new double[8];
+        double[] actual = new double[8];
+        generic.evaluate(-1.0, 0.25, 3, 8, expected);
+        specialized.evaluate(-1.0, 0.25, 3, 8, actual);
+        assertArrayEquals(expected, actual);
+    }
+}